@@ -6,6 +6,7 @@ import pcstore.repositories.*;
 import pcstore.validators.*;
 import pcstore.pricing.*;
 import pcstore.shipping.*;
+import pcstore.logging.*;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -22,6 +23,9 @@ import java.util.List;
 public class PCStoreApplication {
 
     public static void main(String[] args) {
+        // The demo mixes service logs with its own console output, so write them in step
+        Logging.useSynchronous(new ConsoleLogSink(), LogLevel.INFO);
+
         System.out.println("🖥️".repeat(60));
         System.out.println("           WELCOME TO TECH WORLD PC STORE");
         System.out.println("         Demonstrating SOLID Principles in Action");
@@ -48,6 +52,8 @@ class PCStore {
 
     public PCStore() {
         // Initialize repositories (SRP: data persistence only)
+        // Plain single-threaded repositories: OrderService.processOrders confirms batches on the
+        // calling thread; wire the Concurrent* variants to spread batches across cores
         ProductRepository productRepository = new ProductRepository();
         CustomerRepository customerRepository = new CustomerRepository();
         OrderRepository orderRepository = new OrderRepository();
@@ -132,25 +138,25 @@ class PCStore {
         System.out.println("🛍️ Creating sample orders...");
         
         // Regular customer order
-        orderService.createOrder("REG001", "123 Main St, Anytown, USA");
-        orderService.addItemToOrder("ORD001", "LP001", 1); // MacBook Pro
-        orderService.addItemToOrder("ORD001", "AC001", 2); // Wireless Mouse x2
+        String regularOrder = orderService.createOrder("REG001", "123 Main St, Anytown, USA").orElseThrow();
+        orderService.addItemToOrder(regularOrder, "LP001", 1); // MacBook Pro
+        orderService.addItemToOrder(regularOrder, "AC001", 2); // Wireless Mouse x2
         
         // Premium customer order
-        orderService.createOrder("PREM001", "456 Oak Ave, Somewhere, USA");
-        orderService.addItemToOrder("ORD002", "DT001", 1); // Gaming Beast
-        orderService.addItemToOrder("ORD002", "AC002", 1); // Mechanical Keyboard
+        String premiumOrder = orderService.createOrder("PREM001", "456 Oak Ave, Somewhere, USA").orElseThrow();
+        orderService.addItemToOrder(premiumOrder, "DT001", 1); // Gaming Beast
+        orderService.addItemToOrder(premiumOrder, "AC002", 1); // Mechanical Keyboard
         
         // Corporate customer bulk order
-        orderService.createOrder("CORP001", "789 Business Blvd, Corporate City, USA");
-        orderService.addItemToOrder("ORD003", "LP002", 5); // ThinkPad X1 x5 (bulk)
-        orderService.addItemToOrder("ORD003", "DT002", 3); // Office Pro x3
-        orderService.addItemToOrder("ORD003", "AC001", 10); // Wireless Mouse x10
+        String corporateOrder = orderService.createOrder("CORP001", "789 Business Blvd, Corporate City, USA").orElseThrow();
+        orderService.addItemToOrder(corporateOrder, "LP002", 5); // ThinkPad X1 x5 (bulk)
+        orderService.addItemToOrder(corporateOrder, "DT002", 3); // Office Pro x3
+        orderService.addItemToOrder(corporateOrder, "AC001", 10); // Wireless Mouse x10
         
         System.out.println("\n💳 Processing orders...");
-        orderService.processOrder("ORD001");
-        orderService.processOrder("ORD002");
-        orderService.processOrder("ORD003");
+        orderService.processOrder(regularOrder);
+        orderService.processOrder(premiumOrder);
+        orderService.processOrder(corporateOrder);
     }
 
     private void demonstratePricingStrategies() {
@@ -0,0 +1,151 @@
+package pcstore.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AsyncLogDispatcher (LSP: substitutable LogDispatcher)
+ * Logging threads only copy the call into a LogRingBuffer slot; a background daemon
+ * thread renders the events and writes them to the sink. The caller never formats,
+ * takes a lock or waits; when the ring is full the event is dropped and the writer
+ * reports the number of dropped events once it catches up.
+ *
+ * The writer spins briefly when the ring runs empty and then parks until a producer
+ * publishes again. Only the first producer after the writer went to sleep unparks it;
+ * every other log call just reads one volatile flag.
+ */
+final class AsyncLogDispatcher implements LogDispatcher {
+    private static final int IDLE_SPINS = 100;
+    private static final long FLUSH_POLL_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final LogRingBuffer ring;
+    private final LogSink sink;
+    private final LogLevel threshold;
+    private final Thread writer;
+    // Set by the writer just before it parks; cleared by whichever thread wakes it
+    private final AtomicBoolean writerParked = new AtomicBoolean();
+    // Used by the writer thread only, to report drops
+    private final LogEvent notice = new LogEvent();
+    private long reportedDrops;
+    private volatile boolean running = true;
+
+    AsyncLogDispatcher(LogSink sink, LogLevel threshold, int capacity) {
+        this.ring = new LogRingBuffer(capacity);
+        this.sink = sink;
+        this.threshold = threshold;
+        this.writer = new Thread(this::runWriter, "pcstore-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public LogLevel getThreshold() {
+        return threshold;
+    }
+
+    @Override
+    public void dispatch(LogLevel level, String loggerName, String template,
+                         int argumentCount, Object a0, Object a1, Object a2, Object a3) {
+        ring.tryPublish(level, System.currentTimeMillis(), loggerName, template, argumentCount, a0, a1, a2, a3);
+        wakeWriter();
+    }
+
+    @Override
+    public void flush() {
+        long target = ring.getClaimedSequence();
+        while (ring.getConsumedSequence() < target && writer.isAlive()) {
+            wakeWriter();
+            LockSupport.parkNanos(FLUSH_POLL_NANOS);
+        }
+    }
+
+    /**
+     * Writes out what is already queued, then stops the writer thread
+     */
+    @Override
+    public void shutdown() {
+        running = false;
+        writerParked.set(false);
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    long getDroppedCount() {
+        return ring.getDroppedCount();
+    }
+
+    private void runWriter() {
+        int idle = 0;
+        while (true) {
+            int written = drainSafely();
+            if (written > 0) {
+                idle = 0;
+                continue;
+            }
+            reportDrops();
+            if (!running) {
+                // Events published between the last drain and the stop request
+                if (drainSafely() == 0) {
+                    break;
+                }
+                continue;
+            }
+            if (idle == 0) {
+                // Just ran empty: push out what was written
+                sink.flush();
+            }
+            if (idle < IDLE_SPINS) {
+                idle++;
+                Thread.onSpinWait();
+            } else {
+                parkUntilPublished();
+            }
+        }
+        sink.flush();
+    }
+
+    private void parkUntilPublished() {
+        writerParked.set(true);
+        // Re-check after raising the flag: a producer that published before seeing it would not wake us
+        while (writerParked.get() && running && !ring.hasPublished()) {
+            LockSupport.park(this);
+        }
+        writerParked.set(false);
+    }
+
+    private void wakeWriter() {
+        if (writerParked.get() && writerParked.compareAndSet(true, false)) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private int drainSafely() {
+        try {
+            return ring.drainTo(sink);
+        } catch (RuntimeException e) {
+            // A failing sink must not kill the writer; the event that failed is skipped
+            Logging.reportSinkFailure(e);
+            return 1;
+        }
+    }
+
+    private void reportDrops() {
+        long drops = ring.getDroppedCount();
+        if (drops != reportedDrops) {
+            notice.set(LogLevel.WARN, System.currentTimeMillis(), AsyncLogDispatcher.class.getSimpleName(),
+                       "⚠️ {} log events dropped: the log ring buffer ({} events) was full",
+                       2, drops - reportedDrops, ring.getCapacity(), null, null);
+            reportedDrops = drops;
+            try {
+                sink.write(notice);
+            } finally {
+                notice.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package pcstore.logging;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * ConsoleLogSink (OCP: Extension of LogSink)
+ * Writes one line per event to a PrintStream (System.out by default), either the bare
+ * message, as the store's console output has always looked, or prefixed with the time,
+ * level and logger name.
+ */
+public class ConsoleLogSink implements LogSink {
+    private static final DateTimeFormatter TIME_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final PrintStream out;
+    private final boolean withMetadata;
+    // Reused for every line; guarded by this
+    private final StringBuilder line = new StringBuilder(256);
+
+    public ConsoleLogSink() {
+        this(System.out, false);
+    }
+
+    public ConsoleLogSink(PrintStream out, boolean withMetadata) {
+        this.out = out;
+        this.withMetadata = withMetadata;
+    }
+
+    @Override
+    public synchronized void write(LogEvent event) {
+        line.setLength(0);
+        if (withMetadata) {
+            TIME_FORMAT.formatTo(Instant.ofEpochMilli(event.getTimestampMillis()), line);
+            line.append(' ').append(String.format("%-5s", event.getLevel()))
+                .append(' ').append(event.getLoggerName()).append(" - ");
+        }
+        event.appendMessage(line);
+        out.println(line);
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+    }
+}
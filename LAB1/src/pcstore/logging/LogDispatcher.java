@@ -0,0 +1,19 @@
+package pcstore.logging;
+
+/**
+ * LogDispatcher interface (DIP: Loggers depend on this abstraction, not on how events are delivered)
+ * Implemented by the synchronous and asynchronous delivery paths.
+ */
+interface LogDispatcher {
+    LogLevel getThreshold();
+
+    void dispatch(LogLevel level, String loggerName, String template,
+                  int argumentCount, Object a0, Object a1, Object a2, Object a3);
+
+    /**
+     * Returns once every event dispatched before the call has reached the sink
+     */
+    void flush();
+
+    void shutdown();
+}
@@ -0,0 +1,82 @@
+package pcstore.logging;
+
+/**
+ * LogEvent class (SRP: Only holds the data of one log call)
+ * Structured event: level, time, logger name, a message template with "{}" placeholders
+ * and up to four arguments. The message is only rendered when a sink asks for it, on
+ * the sink's thread, so the logging call itself never formats.
+ *
+ * Events are preallocated slots that are reused: a sink must copy what it needs
+ * before write returns and must not keep the event.
+ */
+public final class LogEvent {
+    public static final int MAX_ARGUMENTS = 4;
+
+    private static final String PLACEHOLDER = "{}";
+
+    // Sequence this slot was last published under; written last, read first (see LogRingBuffer)
+    volatile long sequence = -1;
+
+    private LogLevel level;
+    private long timestampMillis;
+    private String loggerName;
+    private String template;
+    private int argumentCount;
+    private final Object[] arguments = new Object[MAX_ARGUMENTS];
+
+    void set(LogLevel level, long timestampMillis, String loggerName, String template,
+             int argumentCount, Object a0, Object a1, Object a2, Object a3) {
+        this.level = level;
+        this.timestampMillis = timestampMillis;
+        this.loggerName = loggerName;
+        this.template = template;
+        this.argumentCount = argumentCount;
+        arguments[0] = a0;
+        arguments[1] = a1;
+        arguments[2] = a2;
+        arguments[3] = a3;
+    }
+
+    /**
+     * Drops the argument references so a consumed slot does not keep them alive
+     */
+    void clear() {
+        template = null;
+        argumentCount = 0;
+        arguments[0] = arguments[1] = arguments[2] = arguments[3] = null;
+    }
+
+    // Getters
+    public LogLevel getLevel() { return level; }
+    public long getTimestampMillis() { return timestampMillis; }
+    public String getLoggerName() { return loggerName; }
+    public String getTemplate() { return template; }
+    public int getArgumentCount() { return argumentCount; }
+
+    public Object getArgument(int index) {
+        if (index < 0 || index >= argumentCount) {
+            throw new IndexOutOfBoundsException("Argument " + index + " of " + argumentCount);
+        }
+        return arguments[index];
+    }
+
+    /**
+     * Appends the template with each "{}" replaced by the next argument
+     */
+    public StringBuilder appendMessage(StringBuilder out) {
+        int from = 0;
+        for (int i = 0; i < argumentCount; i++) {
+            int at = template.indexOf(PLACEHOLDER, from);
+            if (at < 0) {
+                break;
+            }
+            out.append(template, from, at).append(arguments[i]);
+            from = at + PLACEHOLDER.length();
+        }
+        return out.append(template, from, template.length());
+    }
+
+    public String getFormattedMessage() {
+        return appendMessage(new StringBuilder(template.length() + 32)).toString();
+    }
+}
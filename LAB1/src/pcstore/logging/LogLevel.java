@@ -0,0 +1,12 @@
+package pcstore.logging;
+
+/**
+ * LogLevel enum (SRP: Only ranks how important a log event is)
+ */
+public enum LogLevel {
+    DEBUG, INFO, WARN, ERROR;
+
+    public boolean isAtLeast(LogLevel threshold) {
+        return compareTo(threshold) >= 0;
+    }
+}
@@ -0,0 +1,104 @@
+package pcstore.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LogRingBuffer class (SRP: Only responsible for handing events from many threads to one writer)
+ * Bounded multi-producer, single-consumer ring of preallocated LogEvent slots.
+ *
+ * A producer claims the next sequence with a compare-and-set, fills the slot and publishes
+ * it by writing the slot's volatile sequence. The consumer reads slots in order while their
+ * sequence matches and then advances its cursor, which frees the slots for reuse.
+ * When the ring is full the event is dropped and counted instead of waiting, so a
+ * producer never blocks.
+ */
+final class LogRingBuffer {
+    private final LogEvent[] slots;
+    private final int mask;
+
+    // Last sequence claimed by a producer
+    private final AtomicLong claimed = new AtomicLong(-1);
+    // Last sequence handed to the sink; only the consumer advances it
+    private final AtomicLong consumed = new AtomicLong(-1);
+    private final AtomicLong dropped = new AtomicLong();
+
+    LogRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new LogEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new LogEvent();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Copies the call into a free slot; returns false (and counts a drop) if the ring is full
+     */
+    boolean tryPublish(LogLevel level, long timestampMillis, String loggerName, String template,
+                       int argumentCount, Object a0, Object a1, Object a2, Object a3) {
+        long sequence;
+        do {
+            long last = claimed.get();
+            sequence = last + 1;
+            if (sequence - consumed.get() > slots.length) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence - 1, sequence));
+
+        LogEvent slot = slots[(int) sequence & mask];
+        slot.set(level, timestampMillis, loggerName, template, argumentCount, a0, a1, a2, a3);
+        slot.sequence = sequence;
+        return true;
+    }
+
+    /**
+     * Hands every published event, in order, to the sink; returns how many were written.
+     * Must only be called from the single consumer thread.
+     */
+    int drainTo(LogSink sink) {
+        long next = consumed.get() + 1;
+        int written = 0;
+        while (true) {
+            LogEvent slot = slots[(int) next & mask];
+            if (slot.sequence != next) {
+                break;
+            }
+            try {
+                sink.write(slot);
+            } finally {
+                slot.clear();
+                consumed.lazySet(next);
+            }
+            next++;
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * True if the next event the consumer would read has been published
+     */
+    boolean hasPublished() {
+        long next = consumed.get() + 1;
+        return slots[(int) next & mask].sequence == next;
+    }
+
+    long getClaimedSequence() {
+        return claimed.get();
+    }
+
+    long getConsumedSequence() {
+        return consumed.get();
+    }
+
+    long getDroppedCount() {
+        return dropped.get();
+    }
+
+    int getCapacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,22 @@
+package pcstore.logging;
+
+/**
+ * LogSink interface (OCP: Closed for modification, open for extension)
+ * Destination for log events: console, file, network... New destinations plug in
+ * without touching the services that log.
+ *
+ * write is called from one thread at a time by the asynchronous writer, but from the
+ * logging threads themselves when logging is synchronous, so sinks must be thread-safe.
+ */
+public interface LogSink {
+    /**
+     * Records the event; the event is reused afterwards and must not be kept
+     */
+    void write(LogEvent event);
+
+    /**
+     * Pushes buffered output to its destination; called when the writer runs out of events
+     */
+    default void flush() {
+    }
+}
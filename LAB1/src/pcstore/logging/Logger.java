@@ -0,0 +1,76 @@
+package pcstore.logging;
+
+/**
+ * Logger class (SRP: Only responsible for accepting log calls from one component)
+ * Messages are templates with "{}" placeholders; arguments are passed separately and only
+ * rendered by the sink. Fixed-arity overloads (up to four arguments) avoid varargs arrays,
+ * so a call allocates nothing beyond boxing of primitive arguments.
+ *
+ * Arguments may be rendered later, on the writer thread: pass immutable values (ids,
+ * strings, numbers, Money) and call toString() yourself on mutable objects such as
+ * Product, Customer or Order, which may be changed by another thread meanwhile.
+ */
+public final class Logger {
+    private final String name;
+
+    Logger(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled(LogLevel level) {
+        return level.isAtLeast(Logging.dispatcher().getThreshold());
+    }
+
+    // Generic entry points
+    public void log(LogLevel level, String template) {
+        log(level, template, 0, null, null, null, null);
+    }
+
+    public void log(LogLevel level, String template, Object a0) {
+        log(level, template, 1, a0, null, null, null);
+    }
+
+    public void log(LogLevel level, String template, Object a0, Object a1) {
+        log(level, template, 2, a0, a1, null, null);
+    }
+
+    public void log(LogLevel level, String template, Object a0, Object a1, Object a2) {
+        log(level, template, 3, a0, a1, a2, null);
+    }
+
+    public void log(LogLevel level, String template, Object a0, Object a1, Object a2, Object a3) {
+        log(level, template, 4, a0, a1, a2, a3);
+    }
+
+    private void log(LogLevel level, String template, int argumentCount, Object a0, Object a1, Object a2, Object a3) {
+        LogDispatcher dispatcher = Logging.dispatcher();
+        if (level.isAtLeast(dispatcher.getThreshold())) {
+            dispatcher.dispatch(level, name, template, argumentCount, a0, a1, a2, a3);
+        }
+    }
+
+    // Level shortcuts
+    public void debug(String template) { log(LogLevel.DEBUG, template); }
+    public void debug(String template, Object a0) { log(LogLevel.DEBUG, template, a0); }
+    public void debug(String template, Object a0, Object a1) { log(LogLevel.DEBUG, template, a0, a1); }
+    public void debug(String template, Object a0, Object a1, Object a2) { log(LogLevel.DEBUG, template, a0, a1, a2); }
+
+    public void info(String template) { log(LogLevel.INFO, template); }
+    public void info(String template, Object a0) { log(LogLevel.INFO, template, a0); }
+    public void info(String template, Object a0, Object a1) { log(LogLevel.INFO, template, a0, a1); }
+    public void info(String template, Object a0, Object a1, Object a2) { log(LogLevel.INFO, template, a0, a1, a2); }
+    public void info(String template, Object a0, Object a1, Object a2, Object a3) { log(LogLevel.INFO, template, a0, a1, a2, a3); }
+
+    public void warn(String template) { log(LogLevel.WARN, template); }
+    public void warn(String template, Object a0) { log(LogLevel.WARN, template, a0); }
+    public void warn(String template, Object a0, Object a1) { log(LogLevel.WARN, template, a0, a1); }
+    public void warn(String template, Object a0, Object a1, Object a2) { log(LogLevel.WARN, template, a0, a1, a2); }
+
+    public void error(String template) { log(LogLevel.ERROR, template); }
+    public void error(String template, Object a0) { log(LogLevel.ERROR, template, a0); }
+    public void error(String template, Object a0, Object a1) { log(LogLevel.ERROR, template, a0, a1); }
+}
@@ -0,0 +1,91 @@
+package pcstore.logging;
+
+/**
+ * Logging class (SRP: Only responsible for configuring where log events go)
+ * Hands out Loggers and holds the active delivery path. Until configured otherwise,
+ * events go asynchronously (see AsyncLogDispatcher) to the console at INFO and above.
+ * Configure once at startup, before the services start logging; a JVM shutdown hook
+ * writes out whatever is still queued.
+ */
+public final class Logging {
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static volatile LogDispatcher dispatcher;
+    private static LogSink sink; // guarded by Logging.class
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(Logging::shutdown, "pcstore-log-shutdown"));
+    }
+
+    private Logging() {
+    }
+
+    public static Logger getLogger(Class<?> component) {
+        return new Logger(component.getSimpleName());
+    }
+
+    /**
+     * Log calls only enqueue; a background thread writes to the sink
+     */
+    public static void useAsynchronous(LogSink newSink, LogLevel threshold, int capacity) {
+        install(newSink, new AsyncLogDispatcher(newSink, threshold, capacity));
+    }
+
+    /**
+     * Log calls write to the sink before returning, keeping their place among other output
+     */
+    public static void useSynchronous(LogSink newSink, LogLevel threshold) {
+        install(newSink, new SynchronousLogDispatcher(newSink, threshold));
+    }
+
+    /**
+     * Returns once everything logged so far has reached the sink
+     */
+    public static void flush() {
+        dispatcher().flush();
+    }
+
+    /**
+     * Writes out queued events and stops the background writer; later events are
+     * written synchronously to the same sink
+     */
+    public static synchronized void shutdown() {
+        LogDispatcher current = dispatcher;
+        if (current != null && !(current instanceof SynchronousLogDispatcher)) {
+            dispatcher = new SynchronousLogDispatcher(sink, current.getThreshold());
+            current.shutdown();
+        }
+    }
+
+    static LogDispatcher dispatcher() {
+        LogDispatcher current = dispatcher;
+        if (current == null) {
+            synchronized (Logging.class) {
+                current = dispatcher;
+                if (current == null) {
+                    sink = new ConsoleLogSink();
+                    current = new AsyncLogDispatcher(sink, LogLevel.INFO, DEFAULT_CAPACITY);
+                    dispatcher = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Last-resort report of a sink that threw: the event is skipped and the error goes to
+     * stderr, since the sink itself cannot be trusted to record it
+     */
+    static void reportSinkFailure(RuntimeException error) {
+        System.err.println("pcstore logging: log event skipped, sink failed: " + error);
+    }
+
+    private static synchronized void install(LogSink newSink, LogDispatcher replacement) {
+        LogDispatcher previous = dispatcher;
+        sink = newSink;
+        dispatcher = replacement;
+        if (previous != null) {
+            previous.shutdown();
+        }
+    }
+}
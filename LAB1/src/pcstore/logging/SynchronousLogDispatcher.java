@@ -0,0 +1,49 @@
+package pcstore.logging;
+
+/**
+ * SynchronousLogDispatcher (LSP: substitutable LogDispatcher)
+ * Writes each event to the sink on the calling thread before returning, so log lines
+ * keep their place among other console output. Meant for demos, tests and tools;
+ * services under load should use the asynchronous dispatcher.
+ */
+final class SynchronousLogDispatcher implements LogDispatcher {
+    private final LogSink sink;
+    private final LogLevel threshold;
+    // One reusable event per thread; sinks never keep events, so it is free again on return
+    private final ThreadLocal<LogEvent> events = ThreadLocal.withInitial(LogEvent::new);
+
+    SynchronousLogDispatcher(LogSink sink, LogLevel threshold) {
+        this.sink = sink;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public LogLevel getThreshold() {
+        return threshold;
+    }
+
+    @Override
+    public void dispatch(LogLevel level, String loggerName, String template,
+                         int argumentCount, Object a0, Object a1, Object a2, Object a3) {
+        LogEvent event = events.get();
+        event.set(level, System.currentTimeMillis(), loggerName, template, argumentCount, a0, a1, a2, a3);
+        try {
+            sink.write(event);
+        } catch (RuntimeException e) {
+            // Logging must never fail the caller
+            Logging.reportSinkFailure(e);
+        } finally {
+            event.clear();
+        }
+    }
+
+    @Override
+    public void flush() {
+        sink.flush();
+    }
+
+    @Override
+    public void shutdown() {
+        sink.flush();
+    }
+}
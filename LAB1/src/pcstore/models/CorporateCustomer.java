@@ -34,6 +34,11 @@ public class CorporateCustomer extends Customer {
         return true; // Corporate customers always get free shipping
     }
 
+    @Override
+    public long getFreeShippingMinimumCents() {
+        return 0; // Corporate customers always get free shipping
+    }
+
     // Corporate customer specific behavior
     public String getCompanyName() {
         return companyName;
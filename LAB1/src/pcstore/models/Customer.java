@@ -1,5 +1,7 @@
 package pcstore.models;
 
+import java.math.BigDecimal;
+
 /**
  * Base Customer class (LSP: Base class for substitution)
  * Demonstrates Liskov Substitution Principle
@@ -27,6 +29,26 @@ public abstract class Customer {
     public abstract boolean isEligibleForFreeShipping(double orderTotal);
 
     // Common behavior for all customers (LSP: inherited behavior)
+    /**
+     * Smallest order total, in cents, that ships free; Long.MAX_VALUE (never) unless a
+     * subclass offers free shipping, in which case it returns the threshold that
+     * isEligibleForFreeShipping checks against.
+     */
+    public long getFreeShippingMinimumCents() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Whether the order total reaches the minimum, compared as exact decimal amounts
+     * (orderTotal * 100 in double math can fall just short, e.g. 0.29 * 100)
+     */
+    protected static boolean reachesMinimum(double orderTotal, long minimumCents) {
+        if (!Double.isFinite(orderTotal)) {
+            return orderTotal > 0;
+        }
+        return BigDecimal.valueOf(orderTotal).compareTo(Money.toBigDecimal(minimumCents)) >= 0;
+    }
+
     public String getFullName() {
         return firstName + " " + lastName;
     }
@@ -0,0 +1,147 @@
+package pcstore.models;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money class (SRP: Only represents an amount of money)
+ * Immutable fixed-point amount held as a whole number of cents in a long.
+ *
+ * Rounding rules:
+ * - amounts are always whole cents; converting a finer amount rounds HALF_UP
+ * - percentages are applied as basis points (1/100 of a percent), so 15% is exactly 1500
+ * - a chain of percentage discounts is applied exactly and rounded HALF_UP once, at the end
+ *
+ * The static methods work on raw cents so hot paths (pricing, shipping) can compute
+ * without allocating; wrap the result in a Money where it is stored or shown.
+ */
+public final class Money implements Comparable<Money> {
+    public static final Money ZERO = new Money(0);
+
+    private static final int FULL_BASIS_POINTS = 10_000;
+    private static final long TWO_DISCOUNTS_SCALE = (long) FULL_BASIS_POINTS * FULL_BASIS_POINTS;
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Rounds the amount HALF_UP to whole cents
+     */
+    public static Money of(BigDecimal amount) {
+        return ofCents(toCents(amount));
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * A percentage (e.g. 15.0 for 15%) as basis points, to 1/100 of a percent
+     */
+    public static int basisPoints(double percentage) {
+        long basisPoints = Math.round(percentage * 100);
+        if (basisPoints < 0 || basisPoints > FULL_BASIS_POINTS) {
+            throw new IllegalArgumentException("Percentage must be between 0 and 100: " + percentage);
+        }
+        return (int) basisPoints;
+    }
+
+    /**
+     * unitCents x quantity, less two successive percentage discounts (pass 0 for none),
+     * rounded HALF_UP once. Allocation-free unless the exact product overflows a long.
+     */
+    public static long discounted(long unitCents, int quantity, int firstBasisPoints, int secondBasisPoints) {
+        return scaled(unitCents, quantity, (long) (FULL_BASIS_POINTS - firstBasisPoints)
+                                           * (FULL_BASIS_POINTS - secondBasisPoints), TWO_DISCOUNTS_SCALE);
+    }
+
+    /**
+     * Same as {@link #discounted(long, int, int, int)} for a unit price finer than a cent
+     */
+    public static long discounted(BigDecimal unitPrice, int quantity, int firstBasisPoints, int secondBasisPoints) {
+        return scaled(unitPrice, quantity, (long) (FULL_BASIS_POINTS - firstBasisPoints)
+                                           * (FULL_BASIS_POINTS - secondBasisPoints), TWO_DISCOUNTS_SCALE);
+    }
+
+    /**
+     * unitCents x quantity x numerator / denominator, rounded HALF_UP once.
+     * Allocation-free unless the exact product overflows a long.
+     */
+    public static long scaled(long unitCents, int quantity, long numerator, long denominator) {
+        try {
+            long gross = Math.multiplyExact(unitCents, (long) quantity);
+            return divideHalfUp(Math.multiplyExact(gross, numerator), denominator);
+        } catch (ArithmeticException overflow) {
+            return scaled(toBigDecimal(unitCents), quantity, numerator, denominator);
+        }
+    }
+
+    /**
+     * Same as {@link #scaled(long, int, long, long)} for a unit price finer than a cent
+     */
+    public static long scaled(BigDecimal unitPrice, int quantity, long numerator, long denominator) {
+        BigDecimal exact = unitPrice.multiply(BigDecimal.valueOf(Math.multiplyExact((long) quantity, numerator)))
+            .divide(BigDecimal.valueOf(denominator), 2, RoundingMode.HALF_UP);
+        return toCents(exact);
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long half = divisor / 2;
+        return dividend >= 0 ? (dividend + half) / divisor : -((-dividend + half) / divisor);
+    }
+
+    // Arithmetic (results are new instances)
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money times(int quantity) {
+        return ofCents(Math.multiplyExact(cents, (long) quantity));
+    }
+
+    // Getters and conversions
+    public long getCents() { return cents; }
+    public BigDecimal toBigDecimal() { return toBigDecimal(cents); }
+    public double doubleValue() { return cents / 100.0; }
+    public boolean isZero() { return cents == 0; }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money && ((Money) other).cents == cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    /**
+     * Dollar amount with two decimals, e.g. "$1299.99" or "-$5.00"
+     */
+    @Override
+    public String toString() {
+        long abs = Math.abs(cents);
+        long fraction = abs % 100;
+        return (cents < 0 ? "-$" : "$") + abs / 100 + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+}
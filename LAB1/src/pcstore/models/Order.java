@@ -8,6 +8,9 @@ import java.util.List;
 /**
  * Order class (SRP: Only manages order data)
  * Demonstrates Single Responsibility Principle
+ *
+ * Amounts are kept as whole cents and exposed as Money. A unit price finer than a cent
+ * is kept as given, so its line total is multiplied out exactly and rounded once.
  */
 public class Order {
     private String orderId;
@@ -15,33 +18,62 @@ public class Order {
     private LocalDateTime orderDate;
     private List<OrderItem> items;
     private OrderStatus status;
-    private BigDecimal subtotal;
-    private BigDecimal discountAmount;
-    private BigDecimal shippingCost;
-    private BigDecimal total;
+    private long subtotalCents;
+    private long discountCents;
+    private long shippingCents;
+    private long totalCents;
     private String shippingAddress;
+    // The repository this order was last saved to, if any
+    private volatile Owner owner;
 
     public enum OrderStatus {
         PENDING, CONFIRMED, PROCESSING, SHIPPED, DELIVERED, CANCELLED
     }
 
+    /**
+     * The repository holding an order. Status changes are routed through it, so its status
+     * counts and revenue move in the same step as the order (see OrderRepository).
+     */
+    public interface Owner {
+        /**
+         * Runs {@code apply}, which sets the new status on {@code order}, together with the owner's
+         * own bookkeeping; returns false without running it if the owner no longer holds this order
+         */
+        boolean changeStatus(Order order, OrderStatus status, Runnable apply);
+    }
+
     public Order(String orderId, String customerId, String shippingAddress) {
         this.orderId = orderId;
         this.customerId = customerId;
         this.orderDate = LocalDateTime.now();
         this.items = new ArrayList<>();
         this.status = OrderStatus.PENDING;
-        this.subtotal = BigDecimal.ZERO;
-        this.discountAmount = BigDecimal.ZERO;
-        this.shippingCost = BigDecimal.ZERO;
-        this.total = BigDecimal.ZERO;
         this.shippingAddress = shippingAddress;
     }
 
+    /**
+     * Restores a previously persisted order exactly as saved (date, status, items and adjustments)
+     */
+    public Order(String orderId, String customerId, String shippingAddress, LocalDateTime orderDate,
+                 OrderStatus status, List<OrderItem> items, Money discountAmount, Money shippingCost) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.orderDate = orderDate;
+        this.items = new ArrayList<>(items);
+        this.status = status;
+        this.discountCents = discountAmount.getCents();
+        this.shippingCents = shippingCost.getCents();
+        this.shippingAddress = shippingAddress;
+        recalculateSubtotal();
+    }
+
     // Order management methods (SRP: only order-related operations)
     public void addItem(Product product, int quantity) {
-        OrderItem item = new OrderItem(product.getProductId(), product.getName(), 
-                                     product.getBasePrice(), quantity);
+        long unitCents = product.getBasePriceCents();
+        // A price finer than a cent is multiplied out exactly and the line total rounded once
+        OrderItem item = unitCents != Product.SUB_CENT_PRICE
+            ? new OrderItem(product.getProductId(), product.getName(), Money.ofCents(unitCents), quantity)
+            : new OrderItem(product.getProductId(), product.getName(), product.getBasePrice(), quantity);
         items.add(item);
         recalculateSubtotal();
     }
@@ -62,28 +94,43 @@ public class Order {
     }
 
     private void recalculateSubtotal() {
-        subtotal = items.stream()
-                       .map(OrderItem::getTotalPrice)
-                       .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long sum = 0;
+        for (OrderItem item : items) {
+            sum = Math.addExact(sum, item.totalCents);
+        }
+        subtotalCents = sum;
         recalculateTotal();
     }
 
-    public void applyDiscount(BigDecimal discountAmount) {
-        this.discountAmount = discountAmount;
+    public void applyDiscount(Money discountAmount) {
+        this.discountCents = discountAmount.getCents();
         recalculateTotal();
     }
 
-    public void setShippingCost(BigDecimal shippingCost) {
-        this.shippingCost = shippingCost;
+    public void setShippingCost(Money shippingCost) {
+        this.shippingCents = shippingCost.getCents();
         recalculateTotal();
     }
 
     private void recalculateTotal() {
-        total = subtotal.subtract(discountAmount).add(shippingCost);
+        totalCents = subtotalCents - discountCents + shippingCents;
     }
 
+    /**
+     * Changes the status; an order held by a repository is re-filed there in the same step
+     */
     public void updateStatus(OrderStatus status) {
-        this.status = status;
+        Owner current = owner;
+        if (current == null || !current.changeStatus(this, status, () -> this.status = status)) {
+            this.status = status;
+        }
+    }
+
+    /**
+     * Set by the repository that stores this order; null detaches it
+     */
+    public void setOwner(Owner owner) {
+        this.owner = owner;
     }
 
     // Getters (SRP: only data access)
@@ -92,18 +139,18 @@ public class Order {
     public LocalDateTime getOrderDate() { return orderDate; }
     public List<OrderItem> getItems() { return new ArrayList<>(items); }
     public OrderStatus getStatus() { return status; }
-    public BigDecimal getSubtotal() { return subtotal; }
-    public BigDecimal getDiscountAmount() { return discountAmount; }
-    public BigDecimal getShippingCost() { return shippingCost; }
-    public BigDecimal getTotal() { return total; }
+    public Money getSubtotal() { return Money.ofCents(subtotalCents); }
+    public Money getDiscountAmount() { return Money.ofCents(discountCents); }
+    public Money getShippingCost() { return Money.ofCents(shippingCents); }
+    public Money getTotal() { return Money.ofCents(totalCents); }
     public String getShippingAddress() { return shippingAddress; }
     public int getItemCount() { return items.size(); }
     public int getTotalQuantity() { return items.stream().mapToInt(OrderItem::getQuantity).sum(); }
 
     @Override
     public String toString() {
-        return String.format("Order{id='%s', customerId='%s', items=%d, total=$%.2f, status=%s}", 
-                           orderId, customerId, items.size(), total, status);
+        return String.format("Order{id='%s', customerId='%s', items=%d, total=%s, status=%s}", 
+                           orderId, customerId, items.size(), getTotal(), status);
     }
 
     /**
@@ -112,34 +159,57 @@ public class Order {
     public static class OrderItem {
         private String productId;
         private String productName;
-        private BigDecimal unitPrice;
+        private Money unitPrice;
+        // The unit price as given when it is finer than a cent; null when unitPrice is exact
+        private BigDecimal exactUnitPrice;
         private int quantity;
-        private BigDecimal totalPrice;
+        private long totalCents;
+
+        public OrderItem(String productId, String productName, Money unitPrice, int quantity) {
+            this(productId, productName, unitPrice, null, quantity);
+        }
 
+        /**
+         * For a unit price that may be finer than a cent: the line total is the exact price
+         * times the quantity, rounded HALF_UP once
+         */
         public OrderItem(String productId, String productName, BigDecimal unitPrice, int quantity) {
+            this(productId, productName, Money.of(unitPrice),
+                 unitPrice.stripTrailingZeros().scale() > 2 ? unitPrice : null, quantity);
+        }
+
+        private OrderItem(String productId, String productName, Money unitPrice, BigDecimal exactUnitPrice, int quantity) {
             this.productId = productId;
             this.productName = productName;
             this.unitPrice = unitPrice;
+            this.exactUnitPrice = exactUnitPrice;
             this.quantity = quantity;
-            this.totalPrice = unitPrice.multiply(BigDecimal.valueOf(quantity));
+            this.totalCents = lineCents(quantity);
         }
 
         public void setQuantity(int quantity) {
             this.quantity = quantity;
-            this.totalPrice = unitPrice.multiply(BigDecimal.valueOf(quantity));
+            this.totalCents = lineCents(quantity);
+        }
+
+        private long lineCents(int quantity) {
+            return exactUnitPrice == null ? Math.multiplyExact(unitPrice.getCents(), (long) quantity)
+                                          : Money.toCents(exactUnitPrice.multiply(BigDecimal.valueOf(quantity)));
         }
 
         // Getters
         public String getProductId() { return productId; }
         public String getProductName() { return productName; }
-        public BigDecimal getUnitPrice() { return unitPrice; }
+        public Money getUnitPrice() { return unitPrice; }
+        // The unit price as given, which may be finer than the cent-rounded getUnitPrice()
+        public BigDecimal getExactUnitPrice() { return exactUnitPrice != null ? exactUnitPrice : unitPrice.toBigDecimal(); }
         public int getQuantity() { return quantity; }
-        public BigDecimal getTotalPrice() { return totalPrice; }
+        public Money getTotalPrice() { return Money.ofCents(totalCents); }
 
         @Override
         public String toString() {
-            return String.format("OrderItem{product='%s', quantity=%d, unitPrice=$%.2f, total=$%.2f}", 
-                               productName, quantity, unitPrice, totalPrice);
+            return String.format("OrderItem{product='%s', quantity=%d, unitPrice=%s, total=%s}", 
+                               productName, quantity, unitPrice, getTotalPrice());
         }
     }
 }
\ No newline at end of file
@@ -24,7 +24,12 @@ public class PremiumCustomer extends Customer {
 
     @Override
     public boolean isEligibleForFreeShipping(double orderTotal) {
-        return orderTotal >= 50.0; // Premium customers get free shipping for orders over $50
+        return reachesMinimum(orderTotal, getFreeShippingMinimumCents());
+    }
+
+    @Override
+    public long getFreeShippingMinimumCents() {
+        return 5_000; // Premium customers get free shipping for orders over $50
     }
 
     // Premium customer specific behavior
@@ -1,17 +1,31 @@
 package pcstore.models;
 
 import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * Base Product class (SRP: Only manages product data)
  * This class demonstrates Single Responsibility Principle
+ *
+ * Stock changes (take, return, add) are compare-and-set updates on the stock
+ * field, so concurrent checkouts can neither oversell nor lose a decrement.
  */
 public abstract class Product {
+    /**
+     * Returned by getBasePriceCents when the price is finer than a cent (or missing or negative)
+     */
+    public static final long SUB_CENT_PRICE = -1;
+
+    private static final AtomicIntegerFieldUpdater<Product> STOCK =
+        AtomicIntegerFieldUpdater.newUpdater(Product.class, "stockQuantity");
+
     protected String productId;
     protected String name;
     protected String brand;
     protected BigDecimal basePrice;
-    protected int stockQuantity;
+    // basePrice in whole cents, or SUB_CENT_PRICE; kept in step by the constructor and setBasePrice
+    private long basePriceCents;
+    protected volatile int stockQuantity;
     protected String description;
 
     public Product(String productId, String name, String brand, BigDecimal basePrice, int stockQuantity, String description) {
@@ -19,6 +33,7 @@ public abstract class Product {
         this.name = name;
         this.brand = brand;
         this.basePrice = basePrice;
+        this.basePriceCents = centsOf(basePrice);
         this.stockQuantity = stockQuantity;
         this.description = description;
     }
@@ -32,26 +47,52 @@ public abstract class Product {
     public String getName() { return name; }
     public String getBrand() { return brand; }
     public BigDecimal getBasePrice() { return basePrice; }
+    public long getBasePriceCents() { return basePriceCents; }
     public int getStockQuantity() { return stockQuantity; }
     public String getDescription() { return description; }
 
     // Setters (SRP: only data modification)
+    // Name, brand, price and description are indexed by ProductRepository: change them through
+    // ProductRepository.update (or save the product again) so its lookups see the new values
     public void setName(String name) { this.name = name; }
     public void setBrand(String brand) { this.brand = brand; }
-    public void setBasePrice(BigDecimal basePrice) { this.basePrice = basePrice; }
+    public void setBasePrice(BigDecimal basePrice) {
+        this.basePrice = basePrice;
+        this.basePriceCents = centsOf(basePrice);
+    }
     public void setStockQuantity(int stockQuantity) { this.stockQuantity = stockQuantity; }
     public void setDescription(String description) { this.description = description; }
 
+    private static long centsOf(BigDecimal price) {
+        if (price == null || price.signum() < 0 || price.stripTrailingZeros().scale() > 2) {
+            return SUB_CENT_PRICE;
+        }
+        return Money.toCents(price);
+    }
+
     public void reduceStock(int quantity) {
-        if (stockQuantity >= quantity) {
-            stockQuantity -= quantity;
-        } else {
+        if (!tryTakeStock(quantity)) {
             throw new IllegalArgumentException("Insufficient stock");
         }
     }
 
+    /**
+     * Atomically takes {@code quantity} units if that many are in stock; returns false and leaves
+     * the stock unchanged otherwise
+     */
+    public boolean tryTakeStock(int quantity) {
+        int current;
+        do {
+            current = stockQuantity;
+            if (current < quantity) {
+                return false;
+            }
+        } while (!STOCK.compareAndSet(this, current, current - quantity));
+        return true;
+    }
+
     public void addStock(int quantity) {
-        stockQuantity += quantity;
+        STOCK.addAndGet(this, quantity);
     }
 
     public boolean isInStock() {
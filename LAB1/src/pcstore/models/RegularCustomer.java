@@ -22,7 +22,12 @@ public class RegularCustomer extends Customer {
 
     @Override
     public boolean isEligibleForFreeShipping(double orderTotal) {
-        return orderTotal >= 100.0; // Free shipping for orders over $100
+        return reachesMinimum(orderTotal, getFreeShippingMinimumCents());
+    }
+
+    @Override
+    public long getFreeShippingMinimumCents() {
+        return 10_000; // Free shipping for orders over $100
     }
 
     // Regular customer specific behavior
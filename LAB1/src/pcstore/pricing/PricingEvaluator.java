@@ -0,0 +1,90 @@
+package pcstore.pricing;
+
+import pcstore.models.Customer;
+import pcstore.models.Money;
+import pcstore.models.Product;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * PricingEvaluator (SRP: Only responsible for choosing the cheapest pricing strategy)
+ * Prices an order under every registered strategy in a single pass over its lines:
+ * each line's product is resolved once by the caller, every strategy adds its price
+ * for that line to a running total, and the winning total is handed back so it never
+ * has to be computed again. Totals are summed in cents, so pricing the lines allocates nothing.
+ * The clock is read once per order, so time-dependent strategies price every line at the same instant.
+ *
+ * Stateless apart from the strategy list, so one instance can be shared across threads.
+ */
+public class PricingEvaluator {
+    private final List<PricingStrategy> strategies;
+
+    public PricingEvaluator(List<PricingStrategy> strategies) {
+        if (strategies.isEmpty()) {
+            throw new IllegalArgumentException("At least one pricing strategy is required");
+        }
+        this.strategies = Collections.unmodifiableList(new ArrayList<>(strategies));
+    }
+
+    /**
+     * Returns the strategy with the lowest total for these lines; ties go to the strategy
+     * registered first. Lines whose product is missing (null) add nothing.
+     */
+    public Result evaluate(List<Line> lines, Customer customer) {
+        long[] totals = new long[strategies.size()];
+        long now = System.currentTimeMillis();
+        for (Line line : lines) {
+            if (line.product == null) {
+                continue;
+            }
+            for (int s = 0; s < totals.length; s++) {
+                totals[s] += strategies.get(s).calculatePriceCents(line.product, customer, line.quantity, now);
+            }
+        }
+
+        int best = 0;
+        for (int s = 1; s < totals.length; s++) {
+            if (totals[s] < totals[best]) {
+                best = s;
+            }
+        }
+        return new Result(strategies.get(best), totals[best]);
+    }
+
+    public List<PricingStrategy> getStrategies() {
+        return strategies;
+    }
+
+    /**
+     * One order line with its product already looked up
+     */
+    public static class Line {
+        private final Product product;
+        private final int quantity;
+
+        public Line(Product product, int quantity) {
+            this.product = product;
+            this.quantity = quantity;
+        }
+
+        public Product getProduct() { return product; }
+        public int getQuantity() { return quantity; }
+    }
+
+    /**
+     * The cheapest strategy and the order total it produces
+     */
+    public static class Result {
+        private final PricingStrategy bestStrategy;
+        private final long bestTotalCents;
+
+        Result(PricingStrategy bestStrategy, long bestTotalCents) {
+            this.bestStrategy = bestStrategy;
+            this.bestTotalCents = bestTotalCents;
+        }
+
+        public PricingStrategy getBestStrategy() { return bestStrategy; }
+        public Money getBestTotal() { return Money.ofCents(bestTotalCents); }
+    }
+}
@@ -1,15 +1,34 @@
 package pcstore.pricing;
 
 import pcstore.models.Customer;
+import pcstore.models.Money;
 import pcstore.models.Product;
 import java.math.BigDecimal;
 
 /**
  * PricingStrategy interface (OCP: Closed for modification, open for extension)
  * Demonstrates Open/Closed Principle
+ *
+ * calculatePriceCents is the allocation-free path used when orders are priced; strategies
+ * that only implement calculatePrice get it through the default conversion.
  */
 public interface PricingStrategy {
     BigDecimal calculatePrice(Product product, Customer customer, int quantity);
     String getStrategyName();
     String getDescription();
-}
\ No newline at end of file
+
+    /**
+     * Price for the line in whole cents (see Money for the rounding rules)
+     */
+    default long calculatePriceCents(Product product, Customer customer, int quantity) {
+        return Money.toCents(calculatePrice(product, customer, quantity));
+    }
+
+    /**
+     * Price for the line as of {@code nowMillis}, so a caller pricing many lines reads the
+     * clock once; strategies whose prices do not depend on the time ignore it
+     */
+    default long calculatePriceCents(Product product, Customer customer, int quantity, long nowMillis) {
+        return calculatePriceCents(product, customer, quantity);
+    }
+}
@@ -1,53 +1,25 @@
 package pcstore.pricing;
 
-import pcstore.models.Customer;
-import pcstore.models.Product;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import pcstore.pricing.rules.StandardPricingRules;
 
 /**
  * PromotionalPricingStrategy (OCP: Extension of PricingStrategy)
  * Demonstrates Open/Closed Principle - extends without modifying interface
+ * A storewide promotion with the customer's own discount on top (see StandardPricingRules).
  */
-public class PromotionalPricingStrategy implements PricingStrategy {
+public class PromotionalPricingStrategy extends RuleBasedPricingStrategy {
     private final double promotionalDiscountPercentage;
     private final String promotionName;
 
     public PromotionalPricingStrategy(double promotionalDiscountPercentage, String promotionName) {
+        super("Promotional Pricing - " + promotionName,
+              String.format("Special promotion '%s' with %.0f%% discount plus customer discounts",
+                            promotionName, promotionalDiscountPercentage),
+              StandardPricingRules.promotion(promotionName, promotionalDiscountPercentage));
         this.promotionalDiscountPercentage = promotionalDiscountPercentage;
         this.promotionName = promotionName;
     }
 
-    @Override
-    public BigDecimal calculatePrice(Product product, Customer customer, int quantity) {
-        BigDecimal basePrice = product.getBasePrice();
-        BigDecimal totalPrice = basePrice.multiply(BigDecimal.valueOf(quantity));
-        
-        // Apply promotional discount first (typically the best deal)
-        BigDecimal promotionalDiscount = totalPrice.multiply(BigDecimal.valueOf(promotionalDiscountPercentage / 100));
-        totalPrice = totalPrice.subtract(promotionalDiscount);
-        
-        // Apply customer discount on the already discounted price
-        double customerDiscountPercentage = customer.getDiscountPercentage();
-        if (customerDiscountPercentage > 0) {
-            BigDecimal customerDiscount = totalPrice.multiply(BigDecimal.valueOf(customerDiscountPercentage / 100));
-            totalPrice = totalPrice.subtract(customerDiscount);
-        }
-        
-        return totalPrice.setScale(2, RoundingMode.HALF_UP);
-    }
-
-    @Override
-    public String getStrategyName() {
-        return "Promotional Pricing - " + promotionName;
-    }
-
-    @Override
-    public String getDescription() {
-        return String.format("Special promotion '%s' with %.0f%% discount plus customer discounts", 
-                           promotionName, promotionalDiscountPercentage);
-    }
-
     public double getPromotionalDiscountPercentage() {
         return promotionalDiscountPercentage;
     }
@@ -55,4 +27,4 @@ public class PromotionalPricingStrategy implements PricingStrategy {
     public String getPromotionName() {
         return promotionName;
     }
-}
\ No newline at end of file
+}
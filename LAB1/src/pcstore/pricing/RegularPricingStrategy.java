@@ -1,38 +1,16 @@
 package pcstore.pricing;
 
-import pcstore.models.Customer;
-import pcstore.models.Product;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import pcstore.pricing.rules.StandardPricingRules;
 
 /**
  * RegularPricingStrategy (OCP: Extension of PricingStrategy)
  * Demonstrates Open/Closed Principle - extends without modifying interface
+ * The customer's own discount only (see StandardPricingRules).
  */
-public class RegularPricingStrategy implements PricingStrategy {
+public class RegularPricingStrategy extends RuleBasedPricingStrategy {
 
-    @Override
-    public BigDecimal calculatePrice(Product product, Customer customer, int quantity) {
-        BigDecimal basePrice = product.getBasePrice();
-        BigDecimal totalPrice = basePrice.multiply(BigDecimal.valueOf(quantity));
-        
-        // Apply customer discount
-        double discountPercentage = customer.getDiscountPercentage();
-        if (discountPercentage > 0) {
-            BigDecimal discount = totalPrice.multiply(BigDecimal.valueOf(discountPercentage / 100));
-            totalPrice = totalPrice.subtract(discount);
-        }
-        
-        return totalPrice.setScale(2, RoundingMode.HALF_UP);
+    public RegularPricingStrategy() {
+        super("Regular Pricing", "Standard pricing with customer-specific discounts applied",
+              StandardPricingRules.customerDiscounts());
     }
-
-    @Override
-    public String getStrategyName() {
-        return "Regular Pricing";
-    }
-
-    @Override
-    public String getDescription() {
-        return "Standard pricing with customer-specific discounts applied";
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package pcstore.pricing;
+
+import pcstore.models.Customer;
+import pcstore.models.Money;
+import pcstore.models.Product;
+import pcstore.pricing.rules.DecisionTable;
+import pcstore.pricing.rules.PricingRule;
+import pcstore.pricing.rules.PricingRuleParser;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * RuleBasedPricingStrategy (OCP: Extension of PricingStrategy driven by data instead of code)
+ * Prices lines from a set of declarative PricingRules compiled into a DecisionTable,
+ * so a price is a table lookup plus one multiply.
+ *
+ * Rules can be replaced at runtime with reload: the new table is compiled first, then the
+ * rules and table are published together under the strategy's lock. Pricing reads only the
+ * table, so concurrent pricing calls see either the old or the new rules, never a mix.
+ * The table is also recompiled on its own when a promotion window opens or closes; the
+ * clock is only read while such a boundary is pending.
+ */
+public class RuleBasedPricingStrategy implements PricingStrategy {
+    private final String strategyName;
+    private final String description;
+
+    private volatile List<PricingRule> rules;
+    private volatile DecisionTable table;
+
+    public RuleBasedPricingStrategy(String strategyName, String description, List<PricingRule> rules) {
+        this.strategyName = strategyName;
+        this.description = description;
+        reload(rules);
+    }
+
+    /**
+     * Replaces the rules; invalid rules are rejected and the current ones stay in effect
+     */
+    public void reload(List<PricingRule> newRules) {
+        List<PricingRule> copy = Collections.unmodifiableList(new ArrayList<>(newRules));
+        DecisionTable compiled = DecisionTable.compile(copy, System.currentTimeMillis());
+        synchronized (this) {
+            rules = copy;
+            table = compiled;
+        }
+    }
+
+    /**
+     * Replaces the rules with those in a rules file (see PricingRuleParser for the format)
+     */
+    public void reload(Path rulesFile) throws IOException {
+        reload(PricingRuleParser.load(rulesFile));
+    }
+
+    @Override
+    public BigDecimal calculatePrice(Product product, Customer customer, int quantity) {
+        return Money.toBigDecimal(calculatePriceCents(product, customer, quantity));
+    }
+
+    @Override
+    public long calculatePriceCents(Product product, Customer customer, int quantity) {
+        DecisionTable current = table;
+        if (!current.neverExpires()) {
+            current = tableAt(System.currentTimeMillis());
+        }
+        return current.priceCents(product, customer, quantity);
+    }
+
+    @Override
+    public long calculatePriceCents(Product product, Customer customer, int quantity, long nowMillis) {
+        return tableAt(nowMillis).priceCents(product, customer, quantity);
+    }
+
+    private DecisionTable tableAt(long now) {
+        DecisionTable current = table;
+        if (current.isExpired(now)) {
+            synchronized (this) {
+                current = table;
+                if (current.isExpired(now)) {
+                    current = DecisionTable.compile(rules, now);
+                    table = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public String getStrategyName() {
+        return strategyName;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    public List<PricingRule> getRules() {
+        return rules;
+    }
+}
@@ -0,0 +1,192 @@
+package pcstore.pricing.rules;
+
+import pcstore.models.Customer;
+import pcstore.models.Money;
+import pcstore.models.Product;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * DecisionTable class (SRP: Only responsible for the compiled form of a rule set)
+ * Flattens the rules active at one instant into a table indexed by
+ * (customer type, product category, quantity tier). Each cell holds the combined
+ * multiplier of every rule matching it, as a reduced fraction, so pricing a line is
+ * two hash lookups, a binary search over the tier bounds and one multiply-divide.
+ *
+ * A customer discount rule cannot be folded into the fraction, since its percentage
+ * belongs to the customer; cells it matches are flagged instead and the customer's
+ * discount is multiplied in when the line is priced.
+ *
+ * Customer types and categories no rule names share the "other" row (index 0).
+ * A table is immutable; it records when the next promotion window opens or closes,
+ * after which it must be compiled again.
+ */
+public final class DecisionTable {
+    private static final int OTHER = 0;
+    private static final long FULL_BASIS_POINTS = 10_000;
+    // Largest denominator a cell may need: four stacked discounts in basis points
+    private static final int MAX_STACKED_DISCOUNTS = 4;
+
+    private final Map<String, Integer> customerTypeRows;
+    private final Map<String, Integer> categoryColumns;
+    private final int columns;
+    // Lowest quantity of each tier, ascending; tierStarts[0] == 1
+    private final int[] tierStarts;
+    private final long[] numerators;
+    private final long[] denominators;
+    // Cells where the customer's own discount applies on top of the fraction
+    private final boolean[] customerDiscounts;
+    private final long expiresAtMillis;
+
+    private DecisionTable(Map<String, Integer> customerTypeRows, Map<String, Integer> categoryColumns, int[] tierStarts,
+                          long[] numerators, long[] denominators, boolean[] customerDiscounts, long expiresAtMillis) {
+        this.customerTypeRows = customerTypeRows;
+        this.categoryColumns = categoryColumns;
+        this.columns = categoryColumns.size() + 1;
+        this.tierStarts = tierStarts;
+        this.numerators = numerators;
+        this.denominators = denominators;
+        this.customerDiscounts = customerDiscounts;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    /**
+     * Compiles the rules that are active at {@code nowMillis}
+     */
+    public static DecisionTable compile(List<PricingRule> rules, long nowMillis) {
+        List<PricingRule> active = new ArrayList<>();
+        long expiresAt = Long.MAX_VALUE;
+        for (PricingRule rule : rules) {
+            long from = rule.getValidFrom() == null ? Long.MIN_VALUE : toMillis(rule.getValidFrom());
+            long until = rule.getValidUntil() == null ? Long.MAX_VALUE : toMillis(rule.getValidUntil());
+            if (from > nowMillis) {
+                expiresAt = Math.min(expiresAt, from);
+            } else if (until > nowMillis) {
+                active.add(rule);
+                expiresAt = Math.min(expiresAt, until);
+            }
+        }
+
+        // Dimension values named by the active rules; index 0 stands for every other value
+        List<String> customerTypes = new ArrayList<>(Collections.singletonList(null));
+        List<String> categories = new ArrayList<>(Collections.singletonList(null));
+        TreeSet<Integer> starts = new TreeSet<>(Collections.singleton(1));
+        for (PricingRule rule : active) {
+            if (rule.getCustomerType() != null && !customerTypes.contains(rule.getCustomerType())) {
+                customerTypes.add(rule.getCustomerType());
+            }
+            if (rule.getCategory() != null && !categories.contains(rule.getCategory())) {
+                categories.add(rule.getCategory());
+            }
+            starts.add(rule.getMinQuantity());
+            if (rule.getMaxQuantity() < Integer.MAX_VALUE) {
+                starts.add(rule.getMaxQuantity() + 1);
+            }
+        }
+        int[] tierStarts = starts.stream().mapToInt(Integer::intValue).toArray();
+
+        int cells = customerTypes.size() * categories.size() * tierStarts.length;
+        long[] numerators = new long[cells];
+        long[] denominators = new long[cells];
+        boolean[] customerDiscounts = new boolean[cells];
+        for (int row = 0; row < customerTypes.size(); row++) {
+            for (int column = 0; column < categories.size(); column++) {
+                for (int tier = 0; tier < tierStarts.length; tier++) {
+                    // Every quantity in a tier matches the same rules, so its first quantity stands for all of them
+                    long numerator = 1;
+                    long denominator = 1;
+                    int stacked = 0;
+                    boolean customerDiscount = false;
+                    for (PricingRule rule : active) {
+                        if (!rule.appliesTo(customerTypes.get(row), categories.get(column), tierStarts[tier])) {
+                            continue;
+                        }
+                        if (++stacked > MAX_STACKED_DISCOUNTS) {
+                            throw new IllegalArgumentException("More than " + MAX_STACKED_DISCOUNTS
+                                + " discounts apply to the same line (rule: " + rule.getName() + ")");
+                        }
+                        if (rule.isCustomerDiscount()) {
+                            if (customerDiscount) {
+                                throw new IllegalArgumentException("The customer discount applies twice to the same line (rule: "
+                                    + rule.getName() + ")");
+                            }
+                            customerDiscount = true;
+                            continue;
+                        }
+                        numerator *= FULL_BASIS_POINTS - Money.basisPoints(rule.getDiscountPercentage());
+                        denominator *= FULL_BASIS_POINTS;
+                    }
+                    long divisor = gcd(numerator, denominator);
+                    int cell = cellOf(row, column, tier, categories.size(), tierStarts.length);
+                    customerDiscounts[cell] = customerDiscount;
+                    numerators[cell] = numerator / divisor;
+                    denominators[cell] = denominator / divisor;
+                }
+            }
+        }
+        return new DecisionTable(dictionary(customerTypes), dictionary(categories), tierStarts,
+                                 numerators, denominators, customerDiscounts, expiresAt);
+    }
+
+    /**
+     * Price in cents for quantity units of the product; allocation-free for whole-cent prices
+     */
+    public long priceCents(Product product, Customer customer, int quantity) {
+        int cell = cellOf(customerTypeRows.getOrDefault(customer.getCustomerType(), OTHER),
+                          categoryColumns.getOrDefault(product.getCategory(), OTHER),
+                          tierOf(quantity), columns, tierStarts.length);
+        long numerator = numerators[cell];
+        long denominator = denominators[cell];
+        if (customerDiscounts[cell]) {
+            numerator *= FULL_BASIS_POINTS - Money.basisPoints(customer.getDiscountPercentage());
+            denominator *= FULL_BASIS_POINTS;
+        }
+        long unitCents = product.getBasePriceCents();
+        return unitCents != Product.SUB_CENT_PRICE
+            ? Money.scaled(unitCents, quantity, numerator, denominator)
+            : Money.scaled(product.getBasePrice(), quantity, numerator, denominator);
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+
+    /**
+     * True when no promotion window opens or closes later, so the table never has to be compiled again
+     */
+    public boolean neverExpires() {
+        return expiresAtMillis == Long.MAX_VALUE;
+    }
+
+    private int tierOf(int quantity) {
+        int index = Arrays.binarySearch(tierStarts, quantity);
+        // Quantities below 1 fall in the first tier
+        return index >= 0 ? index : Math.max(0, -index - 2);
+    }
+
+    private static int cellOf(int row, int column, int tier, int columns, int tiers) {
+        return (row * columns + column) * tiers + tier;
+    }
+
+    private static Map<String, Integer> dictionary(List<String> values) {
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 1; i < values.size(); i++) {
+            indexes.put(values.get(i), i);
+        }
+        return indexes;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
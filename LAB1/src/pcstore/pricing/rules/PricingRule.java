@@ -0,0 +1,113 @@
+package pcstore.pricing.rules;
+
+import java.time.LocalDateTime;
+
+/**
+ * PricingRule class (SRP: Only describes one discount and when it applies)
+ * A rule takes a percentage off a line when all of its conditions hold:
+ * - customer type (as returned by Customer.getCustomerType), or any customer when null
+ * - product category (as returned by Product.getCategory), or any product when null
+ * - quantity tier: line quantity between minQuantity and maxQuantity (inclusive)
+ * - promotion window: validFrom (inclusive) to validUntil (exclusive), open-ended when null
+ *
+ * Every matching rule of a rule set applies, each on the already discounted price.
+ *
+ * A customer discount rule has no percentage of its own: it takes whatever
+ * Customer.getDiscountPercentage returns for the customer being priced, so each customer
+ * class (including ones added later) keeps deciding its own discount.
+ */
+public final class PricingRule {
+    private final String name;
+    private final String customerType;
+    private final String category;
+    private final int minQuantity;
+    private final int maxQuantity;
+    private final double discountPercentage;
+    private final boolean customerDiscount;
+    private final LocalDateTime validFrom;
+    private final LocalDateTime validUntil;
+
+    public PricingRule(String name, String customerType, String category, int minQuantity, int maxQuantity,
+                       double discountPercentage, LocalDateTime validFrom, LocalDateTime validUntil) {
+        this(name, customerType, category, minQuantity, maxQuantity, discountPercentage, false, validFrom, validUntil);
+    }
+
+    PricingRule(String name, String customerType, String category, int minQuantity, int maxQuantity,
+                double discountPercentage, boolean customerDiscount, LocalDateTime validFrom, LocalDateTime validUntil) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Rule name is required");
+        }
+        if (minQuantity < 1 || maxQuantity < minQuantity) {
+            throw new IllegalArgumentException("Invalid quantity tier " + minQuantity + "-" + maxQuantity + " in rule: " + name);
+        }
+        if (discountPercentage < 0 || discountPercentage > 100) {
+            throw new IllegalArgumentException("Discount must be between 0 and 100% in rule: " + name);
+        }
+        if (validFrom != null && validUntil != null && !validUntil.isAfter(validFrom)) {
+            throw new IllegalArgumentException("Promotion window ends before it starts in rule: " + name);
+        }
+        this.name = name;
+        this.customerType = customerType;
+        this.category = category;
+        this.minQuantity = minQuantity;
+        this.maxQuantity = maxQuantity;
+        this.discountPercentage = discountPercentage;
+        this.customerDiscount = customerDiscount;
+        this.validFrom = validFrom;
+        this.validUntil = validUntil;
+    }
+
+    // Factory methods for the common single-condition rules
+    /**
+     * Takes each customer's own discount (Customer.getDiscountPercentage) off every line
+     */
+    public static PricingRule customerDiscount(String name) {
+        return new PricingRule(name, null, null, 1, Integer.MAX_VALUE, 0, true, null, null);
+    }
+
+    public static PricingRule forCustomerType(String name, String customerType, double discountPercentage) {
+        return new PricingRule(name, customerType, null, 1, Integer.MAX_VALUE, discountPercentage, null, null);
+    }
+
+    public static PricingRule forQuantity(String name, int minQuantity, double discountPercentage) {
+        return new PricingRule(name, null, null, minQuantity, Integer.MAX_VALUE, discountPercentage, null, null);
+    }
+
+    public static PricingRule forCategory(String name, String category, double discountPercentage) {
+        return new PricingRule(name, null, category, 1, Integer.MAX_VALUE, discountPercentage, null, null);
+    }
+
+    public static PricingRule promotion(String name, double discountPercentage,
+                                        LocalDateTime validFrom, LocalDateTime validUntil) {
+        return new PricingRule(name, null, null, 1, Integer.MAX_VALUE, discountPercentage, validFrom, validUntil);
+    }
+
+    boolean appliesTo(String customerType, String category, int quantity) {
+        return (this.customerType == null || this.customerType.equals(customerType))
+            && (this.category == null || this.category.equals(category))
+            && quantity >= minQuantity && quantity <= maxQuantity;
+    }
+
+    // Getters
+    public String getName() { return name; }
+    public String getCustomerType() { return customerType; }
+    public String getCategory() { return category; }
+    public int getMinQuantity() { return minQuantity; }
+    public int getMaxQuantity() { return maxQuantity; }
+    /**
+     * The fixed percentage; 0 for a customer discount rule (see isCustomerDiscount)
+     */
+    public double getDiscountPercentage() { return discountPercentage; }
+    public boolean isCustomerDiscount() { return customerDiscount; }
+    public LocalDateTime getValidFrom() { return validFrom; }
+    public LocalDateTime getValidUntil() { return validUntil; }
+
+    @Override
+    public String toString() {
+        return String.format("PricingRule{name='%s', customerType=%s, category=%s, quantity=%d-%s, discount=%s, window=%s..%s}",
+                             name, customerType, category, minQuantity,
+                             maxQuantity == Integer.MAX_VALUE ? "" : String.valueOf(maxQuantity),
+                             customerDiscount ? "customer" : String.format("%.2f%%", discountPercentage),
+                             validFrom, validUntil);
+    }
+}
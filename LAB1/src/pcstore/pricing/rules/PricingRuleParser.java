@@ -0,0 +1,97 @@
+package pcstore.pricing.rules;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PricingRuleParser class (SRP: Only responsible for reading rules from text)
+ * One rule per line, blank lines and lines starting with '#' are ignored:
+ *
+ *   Customer discount: discount=customer
+ *   Premium extra: customerType=Premium Customer; discount=2
+ *   Bulk 5+: minQuantity=5; discount=5
+ *   Laptop week: category=Laptop; discount=8; from=2026-11-23T00:00; until=2026-11-30T00:00
+ *
+ * Keys: customerType, category, minQuantity, maxQuantity, discount (percent), from, until
+ * (ISO local date-times). Only discount is required; discount=customer takes each
+ * customer's own discount (see PricingRule.customerDiscount).
+ */
+public final class PricingRuleParser {
+
+    private PricingRuleParser() {
+    }
+
+    public static List<PricingRule> load(Path file) throws IOException {
+        return parse(Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses every rule or none: the first malformed line fails the whole set
+     */
+    public static List<PricingRule> parse(List<String> lines) {
+        List<PricingRule> rules = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                rules.add(parseRule(line));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid pricing rule on line " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return rules;
+    }
+
+    private static PricingRule parseRule(String line) {
+        int colon = line.indexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("expected '<name>: key=value; ...'");
+        }
+        String name = line.substring(0, colon).trim();
+        String customerType = null;
+        String category = null;
+        int minQuantity = 1;
+        int maxQuantity = Integer.MAX_VALUE;
+        Double discount = null;
+        boolean customerDiscount = false;
+        LocalDateTime from = null;
+        LocalDateTime until = null;
+
+        for (String condition : line.substring(colon + 1).split(";")) {
+            if (condition.isBlank()) {
+                continue;
+            }
+            int equals = condition.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("expected key=value but found '" + condition.trim() + "'");
+            }
+            String key = condition.substring(0, equals).trim();
+            String value = condition.substring(equals + 1).trim();
+            switch (key) {
+                case "customerType": customerType = value; break;
+                case "category": category = value; break;
+                case "minQuantity": minQuantity = Integer.parseInt(value); break;
+                case "maxQuantity": maxQuantity = Integer.parseInt(value); break;
+                case "discount":
+                    customerDiscount = value.equals("customer");
+                    discount = customerDiscount ? 0 : Double.parseDouble(value);
+                    break;
+                case "from": from = LocalDateTime.parse(value); break;
+                case "until": until = LocalDateTime.parse(value); break;
+                default: throw new IllegalArgumentException("unknown key '" + key + "'");
+            }
+        }
+        if (discount == null) {
+            throw new IllegalArgumentException("discount is required");
+        }
+        return new PricingRule(name, customerType, category, minQuantity, maxQuantity, discount, customerDiscount, from, until);
+    }
+}
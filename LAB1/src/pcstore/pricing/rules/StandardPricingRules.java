@@ -0,0 +1,38 @@
+package pcstore.pricing.rules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * StandardPricingRules class (SRP: Only responsible for the store's built-in rule sets)
+ * The rule sets behind the Regular, Bulk and Promotional pricing strategies.
+ * Every set starts with the customer's own discount (Customer.getDiscountPercentage).
+ */
+public final class StandardPricingRules {
+
+    private StandardPricingRules() {
+    }
+
+    public static List<PricingRule> customerDiscounts() {
+        return Collections.singletonList(PricingRule.customerDiscount("Customer discount"));
+    }
+
+    /**
+     * Customer discounts, plus an extra discount for lines of {@code minQuantity} or more
+     */
+    public static List<PricingRule> bulk(int minQuantity, double discountPercentage) {
+        List<PricingRule> rules = new ArrayList<>(customerDiscounts());
+        rules.add(PricingRule.forQuantity("Bulk discount", minQuantity, discountPercentage));
+        return rules;
+    }
+
+    /**
+     * Customer discounts on top of a storewide promotion with no end date
+     */
+    public static List<PricingRule> promotion(String promotionName, double discountPercentage) {
+        List<PricingRule> rules = new ArrayList<>(customerDiscounts());
+        rules.add(PricingRule.promotion(promotionName, discountPercentage, null, null));
+        return rules;
+    }
+}
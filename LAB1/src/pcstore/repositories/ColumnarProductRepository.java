@@ -0,0 +1,289 @@
+package pcstore.repositories;
+
+import pcstore.models.Product;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * ColumnarProductRepository (LSP: Substitutable for ProductRepository)
+ * Keeps the fields that catalog scans filter on in parallel primitive arrays, one slot
+ * per product: price as long cents, stock as int, and category and brand as dictionary ids.
+ *
+ * Stock and price scans walk those arrays sequentially instead of following a pointer
+ * to a Product and its BigDecimal for every SKU, and only build the result list from
+ * the rows that match. Lookups by id, category, brand and text still go through the
+ * indexes inherited from ProductRepository, which also owns the Product objects.
+ *
+ * Rows are kept dense: deleting a product moves the last row into its slot.
+ * Like ProductRepository, this class is not thread-safe.
+ */
+public class ColumnarProductRepository extends ProductRepository {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long NO_PRICE = Long.MIN_VALUE;
+
+    // Row storage (row i describes rowProductIds[i])
+    private String[] rowProductIds = new String[INITIAL_CAPACITY];
+    private long[] priceCents = new long[INITIAL_CAPACITY];
+    // Set when the price has sub-cent digits, so priceCents is its floor and range checks must verify
+    private boolean[] subCentPrice = new boolean[INITIAL_CAPACITY];
+    private int[] stock = new int[INITIAL_CAPACITY];
+    private int[] categoryIds = new int[INITIAL_CAPACITY];
+    private int[] brandIds = new int[INITIAL_CAPACITY];
+    private int rowCount;
+
+    private final Map<String, Integer> rowByProductId = new HashMap<>();
+
+    // Dictionaries (case-folded value -> id, and id -> value as first saved)
+    private final Map<String, Integer> categoryDictionary = new HashMap<>();
+    private final List<String> categoryNames = new ArrayList<>();
+    private final Map<String, Integer> brandDictionary = new HashMap<>();
+    private final List<String> brandNames = new ArrayList<>();
+
+    public ColumnarProductRepository() {
+        super(false);
+    }
+
+    // Writes keep the columns in step with the inherited indexes
+    @Override
+    public void save(Product product) {
+        super.save(product);
+        store(product);
+    }
+
+    @Override
+    public void saveAll(Collection<? extends Product> batch) {
+        super.saveAll(batch);
+        ensureCapacity(rowCount + batch.size());
+        for (Product product : batch) {
+            store(product);
+        }
+    }
+
+    @Override
+    public boolean update(String productId, Consumer<? super Product> change) {
+        boolean updated = super.update(productId, change);
+        if (updated) {
+            findById(productId).ifPresent(this::store);
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean deleteById(String productId) {
+        boolean removed = super.deleteById(productId);
+        if (removed) {
+            removeRow(productId);
+        }
+        return removed;
+    }
+
+    @Override
+    public void updateStock(String productId, int newStock) {
+        super.updateStock(productId, newStock);
+        Integer row = rowByProductId.get(productId);
+        if (row != null) {
+            stock[row] = newStock;
+        }
+    }
+
+    @Override
+    public void refreshStock(String productId) {
+        Integer row = rowByProductId.get(productId);
+        if (row != null) {
+            findById(productId).ifPresent(product -> stock[row] = product.getStockQuantity());
+        }
+    }
+
+    // Rows of snapshot products are filled from the record, so the products stay undecoded
+    @Override
+    void snapshotRecordLoaded(ProductSnapshot.Record record) {
+        store(record.productId, record.price, record.stock, record.category, record.brand);
+    }
+
+    // Column scans (SRP: only data retrieval)
+    @Override
+    public List<Product> findInStock() {
+        List<Product> result = new ArrayList<>();
+        for (int row = 0; row < rowCount; row++) {
+            if (stock[row] > 0) {
+                addRow(result, row);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long getInStockCount() {
+        long count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (stock[row] > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * In-stock products of a category priced within [minPrice, maxPrice], in one pass over the columns
+     */
+    public List<Product> findInStockByCategoryAndPrice(String category, BigDecimal minPrice, BigDecimal maxPrice) {
+        List<Product> result = new ArrayList<>();
+        Integer categoryId = categoryDictionary.get(normalize(category));
+        if (categoryId == null || minPrice.compareTo(maxPrice) > 0) {
+            return result;
+        }
+        long lowCents = toCents(minPrice, RoundingMode.CEILING);
+        long highCents = toCents(maxPrice, RoundingMode.FLOOR);
+        for (int row = 0; row < rowCount; row++) {
+            if (stock[row] > 0 && categoryIds[row] == categoryId
+                    && priceInRange(row, lowCents, highCents, minPrice, maxPrice)) {
+                addRow(result, row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of products per category, keyed by the category name as first saved
+     */
+    public Map<String, Long> getCountByCategory() {
+        long[] counts = new long[categoryNames.size()];
+        for (int row = 0; row < rowCount; row++) {
+            counts[categoryIds[row]]++;
+        }
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int id = 0; id < counts.length; id++) {
+            if (counts[id] > 0) {
+                result.put(categoryNames.get(id), counts[id]);
+            }
+        }
+        return result;
+    }
+
+    public long getInStockCountByBrand(String brand) {
+        Integer brandId = brandDictionary.get(normalize(brand));
+        if (brandId == null) {
+            return 0;
+        }
+        long count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (brandIds[row] == brandId && stock[row] > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sum of base price times stock over the whole catalog
+     */
+    public BigDecimal getInventoryValue() {
+        long cents = 0;
+        BigDecimal subCentValue = BigDecimal.ZERO;
+        for (int row = 0; row < rowCount; row++) {
+            if (priceCents[row] == NO_PRICE) {
+                continue;
+            }
+            if (subCentPrice[row]) {
+                BigDecimal price = findById(rowProductIds[row]).map(Product::getBasePrice).orElse(BigDecimal.ZERO);
+                subCentValue = subCentValue.add(price.multiply(BigDecimal.valueOf(stock[row])));
+            } else {
+                cents += priceCents[row] * stock[row];
+            }
+        }
+        return BigDecimal.valueOf(cents, 2).add(subCentValue);
+    }
+
+    // Row maintenance
+    private void store(Product product) {
+        store(product.getProductId(), product.getBasePrice(), product.getStockQuantity(),
+              product.getCategory(), product.getBrand());
+    }
+
+    private void store(String productId, BigDecimal price, int stockQuantity, String category, String brand) {
+        Integer existing = rowByProductId.get(productId);
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            ensureCapacity(rowCount + 1);
+            row = rowCount++;
+            rowByProductId.put(productId, row);
+            rowProductIds[row] = productId;
+        }
+        priceCents[row] = price == null ? NO_PRICE : toCents(price, RoundingMode.FLOOR);
+        subCentPrice[row] = price != null && price.stripTrailingZeros().scale() > 2;
+        stock[row] = stockQuantity;
+        categoryIds[row] = dictionaryId(categoryDictionary, categoryNames, category);
+        brandIds[row] = dictionaryId(brandDictionary, brandNames, brand);
+    }
+
+    private void removeRow(String productId) {
+        Integer removed = rowByProductId.remove(productId);
+        if (removed == null) {
+            return;
+        }
+        int row = removed;
+        int last = --rowCount;
+        if (row != last) {
+            rowProductIds[row] = rowProductIds[last];
+            priceCents[row] = priceCents[last];
+            subCentPrice[row] = subCentPrice[last];
+            stock[row] = stock[last];
+            categoryIds[row] = categoryIds[last];
+            brandIds[row] = brandIds[last];
+            rowByProductId.put(rowProductIds[row], row);
+        }
+        rowProductIds[last] = null;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= rowProductIds.length) {
+            return;
+        }
+        int capacity = Math.max(required, rowProductIds.length * 2);
+        rowProductIds = Arrays.copyOf(rowProductIds, capacity);
+        priceCents = Arrays.copyOf(priceCents, capacity);
+        subCentPrice = Arrays.copyOf(subCentPrice, capacity);
+        stock = Arrays.copyOf(stock, capacity);
+        categoryIds = Arrays.copyOf(categoryIds, capacity);
+        brandIds = Arrays.copyOf(brandIds, capacity);
+    }
+
+    private boolean priceInRange(int row, long lowCents, long highCents, BigDecimal minPrice, BigDecimal maxPrice) {
+        long cents = priceCents[row];
+        if (cents == NO_PRICE) {
+            return false;
+        }
+        if (!subCentPrice[row]) {
+            return cents >= lowCents && cents <= highCents;
+        }
+        // The column holds the floor, so only rows next to the bounds need the exact price
+        if (cents < lowCents - 1 || cents > highCents) {
+            return false;
+        }
+        BigDecimal price = findById(rowProductIds[row]).map(Product::getBasePrice).orElse(null);
+        return price != null && price.compareTo(minPrice) >= 0 && price.compareTo(maxPrice) <= 0;
+    }
+
+    private void addRow(List<Product> result, int row) {
+        findById(rowProductIds[row]).ifPresent(result::add);
+    }
+
+    private static int dictionaryId(Map<String, Integer> dictionary, List<String> names, String value) {
+        String key = normalize(value);
+        Integer id = dictionary.get(key);
+        if (id == null) {
+            id = names.size();
+            dictionary.put(key, id);
+            names.add(value);
+        }
+        return id;
+    }
+
+    private static long toCents(BigDecimal amount, RoundingMode rounding) {
+        return amount.movePointRight(2).setScale(0, rounding).longValueExact();
+    }
+}
@@ -0,0 +1,22 @@
+package pcstore.repositories;
+
+/**
+ * ConcurrentCustomerRepository (LSP: Substitutable for CustomerRepository)
+ * Same query API, backed by ConcurrentHashMap so it can be shared by request
+ * threads without external locking.
+ *
+ * Thread-safety and visibility:
+ * - Reads never lock. A save or delete that has returned is visible to every later read.
+ * - Writes to the same customer id are serialized by the primary map's per-key update,
+ *   which also maintains the email index; writes to different ids run in parallel.
+ * - save claims the email with one atomic putIfAbsent, so of two registrations racing for
+ *   the same email exactly one is saved; the other's save throws IllegalArgumentException
+ *   (emailExists is only a fast pre-check).
+ * - Customer objects themselves are not synchronized; mutate them and then call save.
+ */
+public class ConcurrentCustomerRepository extends CustomerRepository {
+
+    public ConcurrentCustomerRepository() {
+        super(true);
+    }
+}
@@ -0,0 +1,25 @@
+package pcstore.repositories;
+
+/**
+ * ConcurrentOrderRepository (LSP: Substitutable for OrderRepository)
+ * Same query API, backed by ConcurrentHashMap / ConcurrentSkipListMap so OrderService
+ * can be served from many request threads without a global lock.
+ *
+ * Thread-safety and visibility:
+ * - Reads never lock. A save, status update or delete that has returned is visible to
+ *   every later read, including the order's fields changed before that save.
+ * - Writes to the same order id are serialized by the primary map's per-key update,
+ *   which also maintains the date and customer indexes and adjusts the status counts
+ *   and revenue. Writes to different orders run in parallel.
+ * - Range and history queries are weakly consistent: a query running alongside a write
+ *   may or may not see it. Aggregates are updated with atomics, so a reader may see a
+ *   status count change slightly before or after the matching revenue change.
+ * - Order objects themselves are not synchronized; mutate them and then call save (or use
+ *   updateStatus) to publish the change, and do not mutate one order from two threads at once.
+ */
+public class ConcurrentOrderRepository extends OrderRepository {
+
+    public ConcurrentOrderRepository() {
+        super(true);
+    }
+}
@@ -0,0 +1,25 @@
+package pcstore.repositories;
+
+/**
+ * ConcurrentProductRepository (LSP: Substitutable for ProductRepository)
+ * Same query API, backed by ConcurrentHashMap / ConcurrentSkipListMap so it can be
+ * shared by request threads without external locking.
+ *
+ * Thread-safety and visibility:
+ * - Reads never lock. A save or delete that has returned is visible to every later read.
+ * - Writes to the same product id are serialized by the primary map's per-key update,
+ *   which also maintains the category, brand, price and search indexes, so index entries
+ *   always match the last saved state of that product. Writes to different ids run in parallel.
+ * - Index queries are weakly consistent, like ConcurrentHashMap iterators: a query running
+ *   alongside a write may or may not see it, but never sees a product that was already
+ *   deleted when the query started.
+ * - Product objects themselves are not synchronized; mutate them and then call save,
+ *   as the services already do, to publish the change. Stock is the exception: it moves
+ *   by compare-and-set (Product.tryTakeStock / addStock) and needs no save.
+ */
+public class ConcurrentProductRepository extends ProductRepository {
+
+    public ConcurrentProductRepository() {
+        super(true);
+    }
+}
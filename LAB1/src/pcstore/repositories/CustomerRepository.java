@@ -2,64 +2,290 @@ package pcstore.repositories;
 
 import pcstore.models.Customer;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * CustomerRepository class (SRP: Only responsible for customer data persistence)
  * Demonstrates Single Responsibility Principle
+ *
+ * Email lookups and uniqueness checks go through a normalized (trimmed,
+ * case-folded) email index, so they cost O(1) regardless of customer count.
+ * An email belongs to one customer at a time: save reserves it atomically and
+ * rejects a customer whose email another customer already uses.
+ * Name search goes through a trigram index over full names, which also ranks
+ * typo-tolerant matches by trigram similarity, and phone lookups use an index of
+ * digits-only phone numbers, so "+1 (555) 010-2000" finds "15550102000".
+ * stream() and findPage() walk the table without copying it.
  */
 public class CustomerRepository {
-    private final Map<String, Customer> customers;
+    // Below this trigram similarity a name is not offered as a fuzzy match
+    private static final double MIN_NAME_SIMILARITY = 0.3;
+
+    private final Map<String, IndexEntry> customers;
+    // Customer ids in order, for keyset pagination
+    private final NavigableSet<String> customerIds;
+
+    // Secondary indexes, maintained by save/deleteById
+    // Normalized email -> customer id
+    private final Map<String, String> emailIndex;
+    // Digits-only phone -> customer ids (several customers may share a phone)
+    private final Map<String, Set<String>> phoneIndex;
+    // Full-name trigrams -> customer ids
+    private final TrigramIndex nameIndex;
+
+    private final boolean concurrent;
 
     public CustomerRepository() {
-        this.customers = new HashMap<>();
+        this(false);
+    }
+
+    /**
+     * @param concurrent back the repository with concurrent maps (see ConcurrentCustomerRepository)
+     */
+    protected CustomerRepository(boolean concurrent) {
+        this.customers = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.customerIds = concurrent ? new ConcurrentSkipListSet<>() : new TreeSet<>();
+        this.emailIndex = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.phoneIndex = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.nameIndex = new TrigramIndex(concurrent);
+        this.concurrent = concurrent;
     }
 
     // Basic CRUD operations (SRP: only data persistence)
+    /**
+     * @throws IllegalArgumentException if another customer already uses the email;
+     *         the repository is left unchanged
+     */
     public void save(Customer customer) {
-        customers.put(customer.getCustomerId(), customer);
+        put(new IndexEntry(customer));
+    }
+
+    /**
+     * Saves a batch in one call; later duplicates of an id win, as with repeated save calls.
+     * The whole batch is checked first: if two of its customers share an email, or one takes
+     * an email another customer already uses, IllegalArgumentException names the customer and
+     * nothing is saved. Index keys, including the name trigrams, are computed in parallel up
+     * front; on the plain repository customers with new ids are then added with one pre-sized
+     * insert and indexed in a single pass.
+     *
+     * On the concurrent repository a save racing the batch may still claim an email after
+     * the check. The batch then stops at that customer and the ones before it stay saved.
+     */
+    public void saveAll(Collection<? extends Customer> batch) {
+        Map<String, IndexEntry> entries = new LinkedHashMap<>();
+        for (IndexEntry entry : batch.parallelStream().map(IndexEntry::new).collect(Collectors.toList())) {
+            // A later duplicate replaces the earlier one, and is saved in its place in the batch order
+            entries.remove(entry.customerId);
+            entries.put(entry.customerId, entry);
+        }
+        checkEmails(entries.values());
+
+        if (concurrent) {
+            entries.values().forEach(this::put);
+            return;
+        }
+        Map<String, IndexEntry> added = new HashMap<>();
+        Map<String, String> addedEmails = new HashMap<>();
+        for (IndexEntry entry : entries.values()) {
+            if (customers.containsKey(entry.customerId)) {
+                put(entry);
+            } else {
+                added.put(entry.customerId, entry);
+                if (!entry.emailKey.isEmpty()) {
+                    addedEmails.put(entry.emailKey, entry.customerId);
+                }
+            }
+        }
+        // putAll resizes each table once for the whole batch
+        customers.putAll(added);
+        emailIndex.putAll(addedEmails);
+        customerIds.addAll(added.keySet());
+        added.forEach(this::index);
+    }
+
+    private void checkEmails(Collection<IndexEntry> entries) {
+        Map<String, String> claimed = new HashMap<>();
+        for (IndexEntry entry : entries) {
+            if (entry.emailKey.isEmpty()) {
+                continue;
+            }
+            String other = claimed.putIfAbsent(entry.emailKey, entry.customerId);
+            if (other != null) {
+                throw new IllegalArgumentException("Customers " + other + " and " + entry.customerId
+                                                   + " in the batch share email " + entry.customer.getEmail());
+            }
+            String owner = emailIndex.get(entry.emailKey);
+            if (owner != null && !owner.equals(entry.customerId)) {
+                throw emailTaken(entry, owner);
+            }
+        }
+    }
+
+    // Re-indexes on every save, so an email change is picked up when the customer is saved again
+    private void put(IndexEntry entry) {
+        customers.compute(entry.customerId, (customerId, previous) -> {
+            reserveEmail(entry);
+            if (previous != null) {
+                if (!previous.emailKey.equals(entry.emailKey)) {
+                    releaseEmail(previous.emailKey, customerId);
+                }
+                unindex(customerId, previous);
+            }
+            index(customerId, entry);
+            customerIds.add(customerId);
+            return entry;
+        });
     }
 
     public Optional<Customer> findById(String customerId) {
-        return Optional.ofNullable(customers.get(customerId));
+        IndexEntry entry = customers.get(customerId);
+        return entry == null ? Optional.empty() : Optional.of(entry.customer);
     }
 
     public List<Customer> findAll() {
-        return new ArrayList<>(customers.values());
+        List<Customer> result = new ArrayList<>(customers.size());
+        for (IndexEntry entry : customers.values()) {
+            result.add(entry.customer);
+        }
+        return result;
     }
 
     public boolean deleteById(String customerId) {
-        return customers.remove(customerId) != null;
+        boolean[] removed = new boolean[1];
+        // Unindex inside the per-key update so a concurrent save of the same id cannot interleave
+        customers.computeIfPresent(customerId, (id, entry) -> {
+            releaseEmail(entry.emailKey, id);
+            unindex(id, entry);
+            customerIds.remove(id);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
     }
 
     public boolean existsById(String customerId) {
         return customers.containsKey(customerId);
     }
 
+    /**
+     * True if this repository may be read and written from several threads at once
+     */
+    public boolean isThreadSafe() {
+        return concurrent;
+    }
+
+    /**
+     * Streams every customer without copying the table (SIZED on the plain repository)
+     */
+    public Stream<Customer> stream() {
+        return customers.values().stream().map(entry -> entry.customer);
+    }
+
+    /**
+     * Up to {@code limit} customers in customer id order, starting after {@code afterCursor}
+     * (null for the first page); pass the page's next cursor to continue
+     */
+    public Page<Customer> findPage(String afterCursor, int limit) {
+        return Page.after(customerIds, afterCursor, limit, customerId -> {
+            IndexEntry entry = customers.get(customerId);
+            return entry == null ? null : entry.customer;
+        });
+    }
+
     // Query methods (SRP: only data retrieval)
     public Optional<Customer> findByEmail(String email) {
-        return customers.values().stream()
-                       .filter(customer -> customer.getEmail().equalsIgnoreCase(email))
-                       .findFirst();
+        String customerId = emailIndex.get(normalizeEmail(email));
+        return customerId == null ? Optional.empty() : findById(customerId);
     }
 
     public List<Customer> findByType(String customerType) {
         return customers.values().stream()
+                       .map(entry -> entry.customer)
                        .filter(customer -> customer.getCustomerType().equalsIgnoreCase(customerType))
                        .collect(Collectors.toList());
     }
 
+    /**
+     * Customers whose full name contains the query (case-insensitive)
+     */
     public List<Customer> searchByName(String nameQuery) {
-        String query = nameQuery.toLowerCase();
-        return customers.values().stream()
-                       .filter(customer -> customer.getFullName().toLowerCase().contains(query))
-                       .collect(Collectors.toList());
+        String query = normalizeName(nameQuery);
+        Collection<String> candidates = TrigramIndex.canNarrow(query) ? nameIndex.candidates(query) : customers.keySet();
+        List<Customer> result = new ArrayList<>();
+        for (String customerId : candidates) {
+            IndexEntry entry = customers.get(customerId);
+            if (entry != null && entry.nameKey.contains(query)) {
+                result.add(entry.customer);
+            }
+        }
+        return result;
     }
 
+    /**
+     * Typo-tolerant name search: up to {@code limit} customers whose full name shares enough
+     * trigrams with the query, most similar first. Similarity is shared trigrams over all
+     * distinct trigrams of both names (1.0 for an exact match).
+     */
+    public List<Customer> searchByNameFuzzy(String nameQuery, int limit) {
+        String query = normalizeName(nameQuery);
+        if (query.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        Set<String> queryGrams = TrigramIndex.trigrams(query);
+        // A name can only reach the threshold if it shares at least this many of the query's trigrams
+        int minShared = (int) Math.ceil(MIN_NAME_SIMILARITY * queryGrams.size());
+
+        // Min-heap of the best matches so far, so the worst one is evicted first
+        PriorityQueue<NameMatch> best = new PriorityQueue<>(NameMatch.BEST_FIRST.reversed());
+        for (String customerId : nameIndex.candidatesSharing(queryGrams, minShared)) {
+            IndexEntry entry = customers.get(customerId);
+            if (entry == null) {
+                continue;
+            }
+            int common = 0;
+            for (String gram : queryGrams) {
+                if (entry.nameGrams.contains(gram)) {
+                    common++;
+                }
+            }
+            double similarity = (double) common / (queryGrams.size() + entry.nameGrams.size() - common);
+            if (similarity < MIN_NAME_SIMILARITY) {
+                continue;
+            }
+            best.offer(new NameMatch(entry, similarity));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<NameMatch> ranked = new ArrayList<>(best);
+        ranked.sort(NameMatch.BEST_FIRST);
+        List<Customer> result = new ArrayList<>(ranked.size());
+        for (NameMatch match : ranked) {
+            result.add(match.entry.customer);
+        }
+        return result;
+    }
+
+    /**
+     * Customers with the given phone number, ignoring formatting (spaces, dashes, brackets, "+")
+     */
     public List<Customer> findByPhone(String phone) {
-        return customers.values().stream()
-                       .filter(customer -> customer.getPhone().equals(phone))
-                       .collect(Collectors.toList());
+        Set<String> customerIds = phoneIndex.get(normalizePhone(phone));
+        List<Customer> result = new ArrayList<>();
+        if (customerIds == null) {
+            return result;
+        }
+        for (String customerId : customerIds) {
+            IndexEntry entry = customers.get(customerId);
+            if (entry != null) {
+                result.add(entry.customer);
+            }
+        }
+        return result;
     }
 
     public int getTotalCount() {
@@ -68,12 +294,124 @@ public class CustomerRepository {
 
     public long getCountByType(String customerType) {
         return customers.values().stream()
-                       .filter(customer -> customer.getCustomerType().equalsIgnoreCase(customerType))
+                       .filter(entry -> entry.customer.getCustomerType().equalsIgnoreCase(customerType))
                        .count();
     }
 
     public boolean emailExists(String email) {
-        return customers.values().stream()
-                       .anyMatch(customer -> customer.getEmail().equalsIgnoreCase(email));
+        return emailIndex.containsKey(normalizeEmail(email));
+    }
+
+    /**
+     * True if nobody uses the email yet, or only the given customer does
+     */
+    public boolean isEmailAvailable(String email, String customerId) {
+        String owner = emailIndex.get(normalizeEmail(email));
+        return owner == null || owner.equals(customerId);
+    }
+
+    // Index maintenance (keys are captured at save time so stale entries can be removed later)
+    private void reserveEmail(IndexEntry entry) {
+        if (entry.emailKey.isEmpty()) {
+            return;
+        }
+        // putIfAbsent is the uniqueness check and the claim in one step, so racing saves cannot both win
+        String owner = emailIndex.putIfAbsent(entry.emailKey, entry.customerId);
+        if (owner != null && !owner.equals(entry.customerId)) {
+            throw emailTaken(entry, owner);
+        }
+    }
+
+    private static IllegalArgumentException emailTaken(IndexEntry entry, String owner) {
+        return new IllegalArgumentException("Email " + entry.customer.getEmail() + " of customer " + entry.customerId
+                                            + " is already registered to customer " + owner);
+    }
+
+    // Only the owner's entry is removed, so another customer's email is never dropped
+    private void releaseEmail(String emailKey, String customerId) {
+        emailIndex.remove(emailKey, customerId);
+    }
+
+    private void index(String customerId, IndexEntry entry) {
+        if (!entry.phoneKey.isEmpty()) {
+            phoneIndex.compute(entry.phoneKey, (k, ids) -> {
+                Set<String> bucket = ids != null ? ids : concurrent ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+                bucket.add(customerId);
+                return bucket;
+            });
+        }
+        nameIndex.add(customerId, entry.nameGrams);
+    }
+
+    private void unindex(String customerId, IndexEntry entry) {
+        phoneIndex.computeIfPresent(entry.phoneKey, (k, ids) -> {
+            ids.remove(customerId);
+            return ids.isEmpty() ? null : ids;
+        });
+        nameIndex.remove(customerId, entry.nameGrams);
+    }
+
+    /**
+     * The form emails are compared in (trimmed, case-folded); callers keying their own sets
+     * by email use it too, so they agree with the index
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static String normalizeName(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static String normalizePhone(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    /**
+     * Primary map value: the customer plus the index keys it was filed under
+     */
+    private static final class IndexEntry {
+        final Customer customer;
+        final String customerId;
+        final String emailKey;
+        final String phoneKey;
+        final String nameKey;
+        final Set<String> nameGrams;
+
+        IndexEntry(Customer customer) {
+            this.customer = customer;
+            this.customerId = customer.getCustomerId();
+            this.emailKey = normalizeEmail(customer.getEmail());
+            this.phoneKey = normalizePhone(customer.getPhone());
+            this.nameKey = normalizeName(customer.getFullName());
+            this.nameGrams = TrigramIndex.trigrams(nameKey);
+        }
+    }
+
+    /**
+     * A fuzzy name candidate with its similarity, so ranking needs no shared state on the entry
+     */
+    private static final class NameMatch {
+        static final Comparator<NameMatch> BEST_FIRST =
+            Comparator.comparingDouble((NameMatch match) -> match.similarity).reversed()
+                      .thenComparing(match -> match.entry.customer.getCustomerId());
+
+        final IndexEntry entry;
+        final double similarity;
+
+        NameMatch(IndexEntry entry, double similarity) {
+            this.entry = entry;
+            this.similarity = similarity;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,229 @@
+package pcstore.repositories;
+
+import pcstore.models.Order;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * DurableOrderRepository (LSP: Substitutable for OrderRepository)
+ * A concurrent order repository whose saves, deletes and status changes survive a restart.
+ *
+ * Every write is appended to a write-ahead log and applied to the in-memory maps only once
+ * it is on disk, so readers never see a change a crash could lose. fsyncs are
+ * group-committed, so concurrent writers share them. On startup the last
+ * snapshot is loaded and the log replayed on top of it. Once the log grows past the
+ * compaction threshold, the current state is written to a new snapshot and the log
+ * is cleared.
+ *
+ * Writes of the same order are serialized by a lock stripe, so the log records them in
+ * the same order the in-memory maps applied them. Change feed entries are published
+ * after the stripe and compaction locks are released, so a slow feed subscriber never
+ * stalls other writers or compaction.
+ *
+ * If a log append or sync fails, the write throws UncheckedIOException without being
+ * applied, and every later write throws too: the repository stays readable but is
+ * read-only until it is reopened. The failed write may or may not be replayed then,
+ * as its record may have reached the disk.
+ */
+public class DurableOrderRepository extends ConcurrentOrderRepository implements Closeable {
+    private static final String LOG_FILE = "orders.wal";
+    private static final String SNAPSHOT_FILE = "orders.snapshot";
+    private static final long DEFAULT_COMPACTION_THRESHOLD_BYTES = 64L * 1024 * 1024;
+    private static final int LOCK_STRIPES = 64;
+
+    private static final byte SAVE_RECORD = 1;
+    private static final byte DELETE_RECORD = 2;
+    private static final byte STATUS_RECORD = 3;
+
+    private final Path snapshotFile;
+    private final long compactionThresholdBytes;
+    private final WriteAheadLog log;
+    private final Object[] stripes;
+    // Writers share the read side; compaction takes the write side to freeze the state
+    private final ReadWriteLock compactionLock;
+    private final AtomicBoolean compacting;
+
+    public DurableOrderRepository(Path directory) throws IOException {
+        this(directory, DEFAULT_COMPACTION_THRESHOLD_BYTES);
+    }
+
+    public DurableOrderRepository(Path directory, long compactionThresholdBytes) throws IOException {
+        this(directory, compactionThresholdBytes, WriteAheadLog.Sync.FORCE);
+    }
+
+    DurableOrderRepository(Path directory, long compactionThresholdBytes, WriteAheadLog.Sync sync) throws IOException {
+        Files.createDirectories(directory);
+        this.snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        this.compactionThresholdBytes = compactionThresholdBytes;
+        this.stripes = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        this.compactionLock = new ReentrantReadWriteLock();
+        this.compacting = new AtomicBoolean();
+
+        // Recovery: snapshot first, then every intact log record on top of it
+        if (Files.exists(snapshotFile)) {
+            try (FileChannel snapshot = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+                WriteAheadLog.replay(snapshot, (type, payload) -> super.save(OrderCodec.decode(payload)));
+            }
+        }
+        this.log = WriteAheadLog.open(directory.resolve(LOG_FILE), this::replayRecord, sync);
+    }
+
+    @Override
+    public void save(Order order) {
+        OrderChange[][] changes = new OrderChange[1][];
+        try {
+            logged(order.getOrderId(), SAVE_RECORD, () -> OrderCodec.encode(order),
+                   () -> changes[0] = applySave(order));
+        } finally {
+            // Claimed sequences must be published even if the log write or sync failed
+            publish(changes[0]);
+        }
+    }
+
+    @Override
+    public boolean deleteById(String orderId) {
+        OrderChange[][] changes = new OrderChange[1][];
+        try {
+            return logged(orderId, DELETE_RECORD,
+                          () -> existsById(orderId) ? orderId.getBytes(StandardCharsets.UTF_8) : null,
+                          () -> applyDelete(orderId, changes));
+        } finally {
+            publish(changes[0]);
+        }
+    }
+
+    // Status changes, whether made through updateStatus or Order.updateStatus, arrive here
+    @Override
+    boolean changeStatus(Order order, Order.OrderStatus status, Runnable apply) {
+        String orderId = order.getOrderId();
+        OrderChange[][] changes = new OrderChange[1][];
+        try {
+            return logged(orderId, STATUS_RECORD,
+                          () -> holds(order) ? encodeStatus(orderId, status) : null,
+                          () -> applyStatus(order, apply, changes));
+        } finally {
+            publish(changes[0]);
+        }
+    }
+
+    /**
+     * Writes every order to a fresh snapshot and clears the log. Writers wait while it runs.
+     */
+    public void compact() {
+        compactionLock.writeLock().lock();
+        try {
+            Path temporary = snapshotFile.resolveSibling(SNAPSHOT_FILE + ".tmp");
+            try (FileChannel snapshot = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Order order : findAll()) {
+                    ByteBuffer frame = WriteAheadLog.frame(SAVE_RECORD, OrderCodec.encode(order));
+                    while (frame.hasRemaining()) {
+                        snapshot.write(frame);
+                    }
+                }
+                snapshot.force(true);
+            }
+            Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // A crash before this line just replays records the snapshot already contains
+            log.truncate();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Order log compaction failed", e);
+        } finally {
+            compactionLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    /**
+     * Appends the record, waits for the group commit and only then applies the change, all
+     * under the order's stripe, so the change is never visible before it is durable.
+     * Writers on other stripes join the same fsync. A null payload means there is nothing to write.
+     */
+    private boolean logged(String orderId, byte type, Supplier<byte[]> payload, Runnable apply) {
+        compactionLock.readLock().lock();
+        try {
+            synchronized (stripes[Math.floorMod(orderId.hashCode(), LOCK_STRIPES)]) {
+                byte[] record = payload.get();
+                if (record == null) {
+                    return false;
+                }
+                try {
+                    log.awaitDurable(log.append(type, record));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to write order " + orderId + " to the log", e);
+                }
+                apply.run();
+            }
+        } finally {
+            compactionLock.readLock().unlock();
+        }
+        maybeCompact();
+        return true;
+    }
+
+    private void maybeCompact() {
+        try {
+            if (log.size() < compactionThresholdBytes || !compacting.compareAndSet(false, true)) {
+                return;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            compact();
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private void replayRecord(byte type, ByteBuffer payload) {
+        switch (type) {
+            case SAVE_RECORD:
+                super.save(OrderCodec.decode(payload));
+                break;
+            case DELETE_RECORD:
+                super.deleteById(StandardCharsets.UTF_8.decode(payload).toString());
+                break;
+            case STATUS_RECORD:
+                Order.OrderStatus status = Order.OrderStatus.values()[payload.get()];
+                // Re-saved as a copy: going through Order.updateStatus would log the change again
+                findById(StandardCharsets.UTF_8.decode(payload).toString())
+                    .ifPresent(order -> super.save(withStatus(order, status)));
+                break;
+            default:
+                throw new IllegalStateException("Unknown order log record type: " + type);
+        }
+    }
+
+    private static Order withStatus(Order order, Order.OrderStatus status) {
+        return new Order(order.getOrderId(), order.getCustomerId(), order.getShippingAddress(), order.getOrderDate(),
+                         status, order.getItems(), order.getDiscountAmount(), order.getShippingCost());
+    }
+
+    private static byte[] encodeStatus(String orderId, Order.OrderStatus status) {
+        byte[] id = orderId.getBytes(StandardCharsets.UTF_8);
+        byte[] record = new byte[1 + id.length];
+        record[0] = (byte) status.ordinal();
+        System.arraycopy(id, 0, record, 1, id.length);
+        return record;
+    }
+}
@@ -0,0 +1,65 @@
+package pcstore.repositories;
+
+import pcstore.models.Order;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * OrderArchive class (SRP: Only responsible for storing encoded orders off the heap)
+ * Append-only store of OrderCodec records in direct ByteBuffer chunks, so archived
+ * orders cost a few bytes of native memory each instead of an object graph the
+ * garbage collector has to trace on every cycle.
+ *
+ * A location packs the chunk index (high 32 bits) and the record offset (low 32 bits).
+ * Appends are serialized; reads use absolute positions on a duplicate of the chunk and
+ * never lock. Space of records that are no longer referenced is not reused.
+ */
+final class OrderArchive {
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    // Replaced (never mutated) when a chunk is added, so readers always see a complete array
+    private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+
+    // Append side: guarded by this
+    private int writeOffset;
+    private long usedBytes;
+
+    /**
+     * Copies a record into the archive and returns its location
+     */
+    synchronized long append(byte[] record) {
+        int required = Integer.BYTES + record.length;
+        ByteBuffer[] current = chunks;
+        if (current.length == 0 || writeOffset + required > current[current.length - 1].capacity()) {
+            ByteBuffer chunk = ByteBuffer.allocateDirect(Math.max(CHUNK_BYTES, required));
+            current = Arrays.copyOf(current, current.length + 1);
+            current[current.length - 1] = chunk;
+            chunks = current;
+            writeOffset = 0;
+        }
+        int chunkIndex = current.length - 1;
+        ByteBuffer chunk = current[chunkIndex];
+        chunk.putInt(writeOffset, record.length);
+        chunk.put(writeOffset + Integer.BYTES, record);
+        long location = ((long) chunkIndex << 32) | writeOffset;
+        writeOffset += required;
+        usedBytes += required;
+        return location;
+    }
+
+    /**
+     * Decodes a fresh Order from the record at the given location
+     */
+    Order read(long location) {
+        ByteBuffer in = chunks[(int) (location >>> 32)].duplicate();
+        int offset = (int) location;
+        int length = in.getInt(offset);
+        in.limit(offset + Integer.BYTES + length);
+        in.position(offset + Integer.BYTES);
+        return OrderCodec.decode(in);
+    }
+
+    synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+}
@@ -0,0 +1,65 @@
+package pcstore.repositories;
+
+import pcstore.models.Money;
+import pcstore.models.Order;
+
+/**
+ * OrderChange class (SRP: Only describes one change made to a stored order)
+ * An immutable entry of the order change feed. The order fields are a snapshot
+ * taken when the change was saved, so they stay valid however the order changes later.
+ */
+public final class OrderChange {
+
+    public enum Type {
+        CREATED,        // first save of a new order id
+        ITEM_ADDED,     // the order has more lines than when it was last saved
+        ITEM_REMOVED,   // the order has fewer lines
+        ITEM_UPDATED,   // same number of lines, different subtotal (a quantity changed)
+        PRICED,         // discount or shipping cost changed
+        STATUS_CHANGED, // status transitioned; see getPreviousStatus()
+        DELETED         // removed from the repository; the snapshot is the last saved state
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final String orderId;
+    private final String customerId;
+    private final Order.OrderStatus status;
+    private final Order.OrderStatus previousStatus;
+    private final int itemCount;
+    private final long totalCents;
+
+    OrderChange(long sequence, Type type, String orderId, String customerId, Order.OrderStatus status,
+                Order.OrderStatus previousStatus, int itemCount, long totalCents) {
+        this.sequence = sequence;
+        this.type = type;
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.status = status;
+        this.previousStatus = previousStatus;
+        this.itemCount = itemCount;
+        this.totalCents = totalCents;
+    }
+
+    // Getters (SRP: only data access)
+    /**
+     * Position in the feed; consecutive changes have consecutive sequences
+     */
+    public long getSequence() { return sequence; }
+    public Type getType() { return type; }
+    public String getOrderId() { return orderId; }
+    public String getCustomerId() { return customerId; }
+    public Order.OrderStatus getStatus() { return status; }
+    /**
+     * Status before this change; equal to getStatus() unless the type is STATUS_CHANGED
+     */
+    public Order.OrderStatus getPreviousStatus() { return previousStatus; }
+    public int getItemCount() { return itemCount; }
+    public Money getTotal() { return Money.ofCents(totalCents); }
+
+    @Override
+    public String toString() {
+        return String.format("#%d %s %s (%s, %d items, %s)",
+                           sequence, type, orderId, status, itemCount, getTotal());
+    }
+}
@@ -0,0 +1,288 @@
+package pcstore.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BooleanSupplier;
+
+/**
+ * OrderChangeFeed class (SRP: Only responsible for delivering order changes to subscribers)
+ * A bounded ring of OrderChange entries read by any number of independent subscribers,
+ * each with its own cursor. Every subscriber sees every change, in sequence order; the
+ * changes of one order appear in the order the repository applied them.
+ *
+ * Backpressure: a writer whose change would overwrite an entry some subscriber has not
+ * read yet waits for that subscriber. A subscriber still that far behind after
+ * maxPublishWaitMillis is lapped instead: writers stop waiting for it, its next poll
+ * skips ahead to the oldest retained change, and getMissedCount() says how many it lost
+ * (re-read the repository to resynchronize). Writers are therefore slowed to the pace
+ * of the slowest subscriber but never blocked indefinitely, even by a subscriber that
+ * writes to the repository from its own thread.
+ *
+ * Waiting writers and readers block on one monitor and are notified when a subscriber
+ * moves its cursor or a change is published. Notifying is skipped while nobody waits,
+ * so the uncontended path is a volatile read.
+ *
+ * Changes are only recorded while at least one subscription is open; a subscription
+ * sees the changes saved after subscribe() returns.
+ */
+public final class OrderChangeFeed {
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final long DEFAULT_MAX_PUBLISH_WAIT_MILLIS = 200;
+
+    private final AtomicReferenceArray<OrderChange> slots;
+    private final int mask;
+    private final long maxPublishWaitNanos;
+
+    // Next sequence to hand out
+    private final AtomicLong claimed = new AtomicLong();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    // Writers waiting for space and readers waiting for changes; waiters is only changed while holding signal
+    private final Object signal = new Object();
+    private volatile int waiters;
+
+    OrderChangeFeed() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_PUBLISH_WAIT_MILLIS);
+    }
+
+    /**
+     * @param capacity changes retained for the slowest subscriber; a power of 2
+     */
+    OrderChangeFeed(int capacity, long maxPublishWaitMillis) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Change feed capacity must be a power of 2: " + capacity);
+        }
+        if (maxPublishWaitMillis < 0) {
+            throw new IllegalArgumentException("Publish wait cannot be negative");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.maxPublishWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxPublishWaitMillis);
+    }
+
+    /**
+     * Starts reading at the next change saved
+     */
+    public Subscription subscribe() {
+        Subscription subscription = new Subscription(claimed.get());
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Sequence the next recorded change will get
+     */
+    public long getNextSequence() {
+        return claimed.get();
+    }
+
+    // Writer side (called by OrderRepository)
+    boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * Reserves {@code count} consecutive sequences and returns the first. Called while the
+     * order's write is still in progress, so sequences follow the order writes were applied.
+     */
+    long claim(int count) {
+        return claimed.getAndAdd(count);
+    }
+
+    /**
+     * Stores claimed changes, waiting for lagging subscribers as described above.
+     * Every claimed sequence must be published, or subscribers stall at the gap.
+     */
+    void publish(OrderChange[] changes) {
+        for (OrderChange change : changes) {
+            awaitCapacity(change.getSequence());
+            slots.set(index(change.getSequence()), change);
+        }
+        signalWaiters();
+    }
+
+    private void awaitCapacity(long sequence) {
+        // The entry this one overwrites must have been read by every attached subscriber
+        long wrapPoint = sequence - slots.length();
+        if (wrapPoint < lowestCursor()) {
+            return;
+        }
+        if (!await(() -> wrapPoint < lowestCursor(), maxPublishWaitNanos)) {
+            // Still behind after the longest wait allowed: stop waiting for them
+            lapSubscribersAt(wrapPoint);
+        }
+    }
+
+    /**
+     * Blocks until {@code ready} holds or the timeout elapses and returns whether it holds.
+     * An interrupt ends the wait early and leaves the thread's interrupt flag set.
+     */
+    private boolean await(BooleanSupplier ready, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        synchronized (signal) {
+            // Announce the waiter before checking, so a change made after the check is always notified
+            waiters++;
+            try {
+                while (!ready.getAsBoolean()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(signal, remaining);
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return ready.getAsBoolean();
+            } finally {
+                waiters--;
+            }
+        }
+    }
+
+    private void signalWaiters() {
+        if (waiters > 0) {
+            synchronized (signal) {
+                signal.notifyAll();
+            }
+        }
+    }
+
+    private long lowestCursor() {
+        long lowest = Long.MAX_VALUE;
+        for (Subscription subscription : subscriptions) {
+            if (!subscription.lapped) {
+                lowest = Math.min(lowest, subscription.cursor);
+            }
+        }
+        return lowest;
+    }
+
+    private void lapSubscribersAt(long wrapPoint) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.cursor <= wrapPoint) {
+                subscription.lapped = true;
+            }
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) sequence & mask;
+    }
+
+    /**
+     * One consumer's position in the feed. Poll it from one thread at a time;
+     * close it when done so writers stop waiting for it.
+     */
+    public final class Subscription implements AutoCloseable {
+        // Next sequence to read; written only by the polling thread
+        private volatile long cursor;
+        // Set by a writer that gave up waiting; writers ignore this cursor until it catches up
+        private volatile boolean lapped;
+        private volatile long missedCount;
+
+        private Subscription(long start) {
+            this.cursor = start;
+        }
+
+        /**
+         * Up to {@code maxChanges} changes, oldest first, without waiting (empty if none are ready)
+         */
+        public List<OrderChange> poll(int maxChanges) {
+            List<OrderChange> result = new ArrayList<>(Math.min(Math.max(maxChanges, 0), 64));
+            long start = cursor;
+            long next = start;
+            while (result.size() < maxChanges) {
+                OrderChange change = slots.get(index(next));
+                if (change == null || change.getSequence() < next) {
+                    break; // not published yet
+                }
+                if (change.getSequence() > next) {
+                    // Overwritten while lapped: resume at the oldest change that can still be intact
+                    long resume = Math.max(next + 1, claimed.get() - slots.length());
+                    missedCount += resume - next;
+                    next = resume;
+                    continue;
+                }
+                result.add(change);
+                next++;
+            }
+            // Publish the new position only after the entries have been read
+            cursor = next;
+            if (lapped && next > claimed.get() - slots.length()) {
+                lapped = false;
+            }
+            if (next != start) {
+                signalWaiters();
+            }
+            return result;
+        }
+
+        /**
+         * Like poll(int), but waits up to the timeout for at least one change
+         */
+        public List<OrderChange> poll(int maxChanges, long timeout, TimeUnit unit) {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (true) {
+                List<OrderChange> result = poll(maxChanges);
+                long remaining = deadline - System.nanoTime();
+                if (!result.isEmpty() || maxChanges <= 0 || remaining <= 0 || !await(this::hasNext, remaining)) {
+                    return result;
+                }
+            }
+        }
+
+        /**
+         * True once the entry at the cursor has been published (or overwritten, if lapped)
+         */
+        private boolean hasNext() {
+            long next = cursor;
+            OrderChange change = slots.get(index(next));
+            return change != null && change.getSequence() >= next;
+        }
+
+        /**
+         * Sequence of the next change this subscription will read
+         */
+        public long getPosition() {
+            return cursor;
+        }
+
+        /**
+         * Changes recorded but not yet read (including any still being published)
+         */
+        public long getLag() {
+            return Math.max(0, claimed.get() - cursor);
+        }
+
+        /**
+         * Changes skipped because this subscription fell a full ring behind
+         */
+        public long getMissedCount() {
+            return missedCount;
+        }
+
+        public boolean isLapped() {
+            return lapped;
+        }
+
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+            // Writers may be waiting for this subscription
+            signalWaiters();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package pcstore.repositories;
+
+import pcstore.models.Money;
+import pcstore.models.Order;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OrderCodec class (SRP: Only responsible for the binary encoding of orders)
+ * Compact big-endian layout shared by the write-ahead log and snapshots:
+ * id, customer, address, date, status, discount, shipping, then the line items.
+ * Subtotal and total are derived again from the items on decode. Amounts are written
+ * as decimals and read back as whole-cent Money.
+ */
+final class OrderCodec {
+    private static final int NULL_LENGTH = -1;
+
+    private OrderCodec() {
+    }
+
+    static byte[] encode(Order order) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128 + order.getItemCount() * 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeString(out, order.getOrderId());
+            writeString(out, order.getCustomerId());
+            writeString(out, order.getShippingAddress());
+            out.writeLong(order.getOrderDate().toLocalDate().toEpochDay());
+            out.writeLong(order.getOrderDate().toLocalTime().toNanoOfDay());
+            out.writeByte(order.getStatus().ordinal());
+            writeDecimal(out, order.getDiscountAmount().toBigDecimal());
+            writeDecimal(out, order.getShippingCost().toBigDecimal());
+
+            List<Order.OrderItem> items = order.getItems();
+            out.writeInt(items.size());
+            for (Order.OrderItem item : items) {
+                writeString(out, item.getProductId());
+                writeString(out, item.getProductName());
+                writeDecimal(out, item.getExactUnitPrice());
+                out.writeInt(item.getQuantity());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory stream, cannot happen
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes one order starting at the buffer's position, advancing past it
+     */
+    static Order decode(ByteBuffer in) {
+        String orderId = readString(in);
+        String customerId = readString(in);
+        String shippingAddress = readString(in);
+        LocalDateTime orderDate = LocalDateTime.of(LocalDate.ofEpochDay(in.getLong()),
+                                                   LocalTime.ofNanoOfDay(in.getLong()));
+        Order.OrderStatus status = Order.OrderStatus.values()[in.get()];
+        Money discountAmount = Money.of(readDecimal(in));
+        Money shippingCost = Money.of(readDecimal(in));
+
+        int itemCount = in.getInt();
+        List<Order.OrderItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            String productId = readString(in);
+            String productName = readString(in);
+            BigDecimal unitPrice = readDecimal(in);
+            int quantity = in.getInt();
+            items.add(new Order.OrderItem(productId, productName, unitPrice, quantity));
+        }
+        return new Order(orderId, customerId, shippingAddress, orderDate, status, items, discountAmount, shippingCost);
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    static void skipString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length != NULL_LENGTH) {
+            in.position(in.position() + length);
+        }
+    }
+
+    static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeByte(unscaled.length);
+        out.write(unscaled);
+    }
+
+    static BigDecimal readDecimal(ByteBuffer in) {
+        int scale = in.getInt();
+        byte[] unscaled = new byte[in.get() & 0xFF];
+        in.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+}
@@ -1,74 +1,263 @@
 package pcstore.repositories;
 
+import pcstore.models.Money;
 import pcstore.models.Order;
+import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.time.LocalDateTime;
 
 /**
  * OrderRepository class (SRP: Only responsible for order data persistence)
  * Demonstrates Single Responsibility Principle
+ *
+ * Date-range and "recent orders" queries walk a skip list ordered by
+ * (order date, order id), so they only touch the matching slice of history.
+ * Per-customer history and counts come from a customer index in O(k), and
+ * status counts and revenue are running aggregates read in O(1).
+ *
+ * Status and total queries all read the snapshot taken when the order was last saved,
+ * so counts, revenue and findByStatus always agree. A stored order's status changes go
+ * through the repository whether they are made with updateStatus or Order.updateStatus
+ * (the repository is the order's Order.Owner); other changes to an order are seen once
+ * it is saved again.
+ * stream() and findPage() walk the table without copying it.
+ *
+ * Delivered and cancelled orders can be moved to an off-heap archive with
+ * archiveCompletedOrders(); every query still returns them, decoded on access.
+ *
+ * Writes are published as OrderChange entries on a change feed (see OrderChangeFeed),
+ * so reporting or fulfilment code can subscribe and react to each change instead of
+ * rescanning the repository. Each save is compared with the order's previous saved
+ * snapshot and yields one entry per kind of difference (lines, pricing, status).
  */
 public class OrderRepository {
-    private final Map<String, Order> orders;
+    private final Map<String, IndexEntry> orders;
+    // Order ids in order, for keyset pagination
+    private final NavigableSet<String> orderIds;
+
+    // Secondary index ((order date, order id) -> order id), maintained by save/deleteById
+    private final ConcurrentNavigableMap<OrderedKey<LocalDateTime>, String> dateIndex;
+    // Customer id -> that customer's orders in date order
+    private final Map<String, NavigableMap<OrderedKey<LocalDateTime>, String>> customerIndex;
+
+    // Running aggregates, adjusted by the same writes that maintain the indexes
+    private final AtomicLongArray statusCounts;
+    private final AtomicLong revenueCents;
+
+    // Off-heap storage for orders in a terminal status
+    private final OrderArchive archive;
+    private final AtomicLong archivedCount;
+
+    private final OrderChangeFeed changeFeed;
+
+    // Attached to every stored order so Order.updateStatus comes back through changeStatus
+    private final Order.Owner owner;
+
+    private final boolean concurrent;
 
     public OrderRepository() {
-        this.orders = new HashMap<>();
+        this(false);
+    }
+
+    /**
+     * @param concurrent back the repository with concurrent maps (see ConcurrentOrderRepository)
+     */
+    protected OrderRepository(boolean concurrent) {
+        this.concurrent = concurrent;
+        this.orders = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.orderIds = concurrent ? new ConcurrentSkipListSet<>() : new TreeSet<>();
+        this.dateIndex = new ConcurrentSkipListMap<>();
+        this.customerIndex = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.statusCounts = new AtomicLongArray(Order.OrderStatus.values().length);
+        this.revenueCents = new AtomicLong();
+        this.archive = new OrderArchive();
+        this.archivedCount = new AtomicLong();
+        this.changeFeed = new OrderChangeFeed();
+        this.owner = this::changeStatus;
     }
 
     // Basic CRUD operations (SRP: only data persistence)
     public void save(Order order) {
-        orders.put(order.getOrderId(), order);
+        publish(applySave(order));
+    }
+
+    /**
+     * Saves a batch in one call; later duplicates of an id win, as with repeated save calls.
+     * Orders cannot conflict with each other, so every order in the batch is saved. On the
+     * plain repository orders with new ids are added with one pre-sized insert and indexed
+     * in a single pass; the concurrent repositories save them one by one, as save would.
+     */
+    public void saveAll(Collection<? extends Order> batch) {
+        if (concurrent) {
+            for (Order order : batch) {
+                save(order);
+            }
+            return;
+        }
+        Map<String, IndexEntry> added = new LinkedHashMap<>();
+        for (Order order : batch) {
+            String orderId = order.getOrderId();
+            if (orders.containsKey(orderId)) {
+                save(order);
+            } else {
+                // A later duplicate within the batch replaces the earlier one before it is filed
+                added.put(orderId, new IndexEntry(order));
+            }
+        }
+        // putAll resizes the table once for the whole batch
+        orders.putAll(added);
+        orderIds.addAll(added.keySet());
+        added.forEach((orderId, entry) -> {
+            index(orderId, entry);
+            entry.order.setOwner(owner);
+            publish(recordChanges(orderId, null, entry));
+        });
+    }
+
+    /**
+     * Transitions an order's status and updates the aggregates in the same step
+     */
+    public boolean updateStatus(String orderId, Order.OrderStatus status) {
+        Optional<Order> order = findById(orderId);
+        // Comes back through changeStatus, as the repository owns every order it returns
+        order.ifPresent(stored -> stored.updateStatus(status));
+        return order.isPresent();
     }
 
     public Optional<Order> findById(String orderId) {
-        return Optional.ofNullable(orders.get(orderId));
+        IndexEntry entry = orders.get(orderId);
+        return entry == null ? Optional.empty() : Optional.of(orderOf(entry));
     }
 
     public List<Order> findAll() {
-        return new ArrayList<>(orders.values());
+        List<Order> result = new ArrayList<>(orders.size());
+        for (IndexEntry entry : orders.values()) {
+            result.add(orderOf(entry));
+        }
+        return result;
     }
 
     public boolean deleteById(String orderId) {
-        return orders.remove(orderId) != null;
+        OrderChange[][] changes = new OrderChange[1][];
+        try {
+            return applyDelete(orderId, changes);
+        } finally {
+            publish(changes[0]);
+        }
     }
 
     public boolean existsById(String orderId) {
         return orders.containsKey(orderId);
     }
 
+    /**
+     * True if this repository may be read and written from several threads at once
+     */
+    public boolean isThreadSafe() {
+        return concurrent;
+    }
+
+    /**
+     * Streams every order without copying the table (SIZED on the plain repository)
+     */
+    public Stream<Order> stream() {
+        return orders.values().stream().map(this::orderOf);
+    }
+
+    /**
+     * Up to {@code limit} orders in order id order, starting after {@code afterCursor}
+     * (null for the first page); pass the page's next cursor to continue
+     */
+    public Page<Order> findPage(String afterCursor, int limit) {
+        return Page.after(orderIds, afterCursor, limit, orderId -> {
+            IndexEntry entry = orders.get(orderId);
+            return entry == null ? null : orderOf(entry);
+        });
+    }
+
     // Query methods (SRP: only data retrieval)
     public List<Order> findByCustomerId(String customerId) {
-        return orders.values().stream()
-                    .filter(order -> order.getCustomerId().equals(customerId))
-                    .collect(Collectors.toList());
+        NavigableMap<OrderedKey<LocalDateTime>, String> customerOrders = customerIndex.get(customerId);
+        return customerOrders == null ? new ArrayList<>() : resolve(customerOrders, Integer.MAX_VALUE);
+    }
+
+    /**
+     * A customer's orders newest first, stopping after {@code limit} results
+     */
+    public List<Order> findByCustomerId(String customerId, int limit) {
+        NavigableMap<OrderedKey<LocalDateTime>, String> customerOrders = customerIndex.get(customerId);
+        return customerOrders == null ? new ArrayList<>() : resolve(customerOrders.descendingMap(), limit);
     }
 
     public List<Order> findByStatus(Order.OrderStatus status) {
+        // Filtered on the saved status, the same snapshot the status counts use, so only matches are decoded
         return orders.values().stream()
-                    .filter(order -> order.getStatus() == status)
+                    .filter(entry -> entry.status == status)
+                    .map(this::orderOf)
                     .collect(Collectors.toList());
     }
 
     public List<Order> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return orders.values().stream()
-                    .filter(order -> {
-                        LocalDateTime orderDate = order.getOrderDate();
-                        return !orderDate.isBefore(startDate) && !orderDate.isAfter(endDate);
-                    })
-                    .collect(Collectors.toList());
+        return findByDateRange(startDate, endDate, false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Orders placed within [startDate, endDate], oldest or newest first, stopping after {@code limit} results
+     */
+    public List<Order> findByDateRange(LocalDateTime startDate, LocalDateTime endDate, boolean newestFirst, int limit) {
+        if (startDate.isAfter(endDate)) {
+            return new ArrayList<>();
+        }
+        ConcurrentNavigableMap<OrderedKey<LocalDateTime>, String> slice =
+            dateIndex.subMap(OrderedKey.lowerBound(startDate), true, OrderedKey.upperBound(endDate), true);
+        return resolve(newestFirst ? slice.descendingMap() : slice, limit);
     }
 
     public List<Order> findRecentOrders(int days) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(days);
-        return orders.values().stream()
-                    .filter(order -> order.getOrderDate().isAfter(cutoffDate))
-                    .collect(Collectors.toList());
+        return resolve(dateIndex.tailMap(OrderedKey.upperBound(cutoffDate), false), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Orders placed in the last {@code days} days, newest first, stopping after {@code limit} results
+     */
+    public List<Order> findRecentOrders(int days, int limit) {
+        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(days);
+        return resolve(dateIndex.tailMap(OrderedKey.upperBound(cutoffDate), false).descendingMap(), limit);
+    }
+
+    public List<Order> findLatest(int limit) {
+        return resolve(dateIndex.descendingMap(), limit);
     }
 
+    /**
+     * Orders whose total is at least {@code minimumTotal}, compared in exact cents
+     * (rounded HALF_UP as in Money); a NaN bound matches nothing
+     */
     public List<Order> findLargeOrders(double minimumTotal) {
+        if (Double.isNaN(minimumTotal)) {
+            return new ArrayList<>();
+        }
+        // Bounds too large for a long of cents match every order or none
+        long minimumCents = Math.abs(minimumTotal) < Long.MAX_VALUE / 100
+            ? Money.toCents(BigDecimal.valueOf(minimumTotal))
+            : minimumTotal > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        return findLargeOrders(Money.ofCents(minimumCents));
+    }
+
+    public List<Order> findLargeOrders(Money minimumTotal) {
+        long minimumCents = minimumTotal.getCents();
         return orders.values().stream()
-                    .filter(order -> order.getTotal().doubleValue() >= minimumTotal)
+                    .filter(entry -> entry.totalCents >= minimumCents)
+                    .map(this::orderOf)
                     .collect(Collectors.toList());
     }
 
@@ -76,22 +265,314 @@ public class OrderRepository {
         return orders.size();
     }
 
+    // Change feed
+    /**
+     * Subscribes to the changes saved from now on; close the subscription when done
+     */
+    public OrderChangeFeed.Subscription subscribeToChanges() {
+        return changeFeed.subscribe();
+    }
+
+    public OrderChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
+
+    // Archive tier (terminal orders off the heap)
+    /**
+     * Moves every delivered or cancelled order that is still on the heap into the off-heap
+     * archive and returns how many were moved. Archived orders are decoded into a fresh
+     * Order on each access; saving or updating one brings it back onto the heap.
+     */
+    public int archiveCompletedOrders() {
+        int[] moved = new int[1];
+        for (String orderId : orderIds) {
+            orders.computeIfPresent(orderId, (id, entry) -> {
+                if (entry.isArchived() || !isTerminal(entry.status)) {
+                    return entry;
+                }
+                moved[0]++;
+                archivedCount.incrementAndGet();
+                return entry.archivedAt(archive.append(OrderCodec.encode(entry.order)));
+            });
+        }
+        return moved[0];
+    }
+
+    public long getArchivedCount() {
+        return archivedCount.get();
+    }
+
+    /**
+     * Off-heap bytes written to the archive so far
+     */
+    public long getArchiveBytes() {
+        return archive.getUsedBytes();
+    }
+
     public long getCountByStatus(Order.OrderStatus status) {
-        return orders.values().stream()
-                    .filter(order -> order.getStatus() == status)
-                    .count();
+        return statusCounts.get(status.ordinal());
     }
 
     public long getCountByCustomer(String customerId) {
-        return orders.values().stream()
-                    .filter(order -> order.getCustomerId().equals(customerId))
-                    .count();
+        NavigableMap<OrderedKey<LocalDateTime>, String> customerOrders = customerIndex.get(customerId);
+        return customerOrders == null ? 0 : customerOrders.size();
     }
 
     public double getTotalRevenue() {
-        return orders.values().stream()
-                    .filter(order -> order.getStatus() != Order.OrderStatus.CANCELLED)
-                    .mapToDouble(order -> order.getTotal().doubleValue())
-                    .sum();
+        return revenueCents.get() / 100.0;
+    }
+
+    /**
+     * Exact sum of the totals of all orders that are not cancelled
+     */
+    public Money getTotalRevenueAmount() {
+        return Money.ofCents(revenueCents.get());
+    }
+
+    // Write steps: apply* changes the maps and claims feed sequences; the caller must then
+    // publish the returned changes, after releasing any lock of its own (see DurableOrderRepository)
+    OrderChange[] applySave(Order order) {
+        // Re-indexes on every save, so status and total changes are picked up when the order is saved again
+        OrderChange[][] changes = new OrderChange[1][];
+        orders.compute(order.getOrderId(), (orderId, previous) -> {
+            IndexEntry entry = reindex(orderId, previous, order);
+            changes[0] = recordChanges(orderId, previous, entry);
+            return entry;
+        });
+        return changes[0];
+    }
+
+    /**
+     * Order.Owner callback for a status change made on a stored order
+     */
+    boolean changeStatus(Order order, Order.OrderStatus status, Runnable apply) {
+        OrderChange[][] changes = new OrderChange[1][];
+        try {
+            return applyStatus(order, apply, changes);
+        } finally {
+            publish(changes[0]);
+        }
+    }
+
+    /**
+     * True if {@code order} is the object this repository holds for its id (any decoded copy
+     * of an archived order counts); status changes made on other copies are not applied here
+     */
+    boolean holds(Order order) {
+        IndexEntry entry = orders.get(order.getOrderId());
+        return entry != null && (entry.order == order || entry.isArchived());
+    }
+
+    boolean applyStatus(Order order, Runnable apply, OrderChange[][] changes) {
+        boolean[] applied = new boolean[1];
+        orders.computeIfPresent(order.getOrderId(), (id, previous) -> {
+            if (previous.order != order && !previous.isArchived()) {
+                return previous;
+            }
+            apply.run();
+            IndexEntry entry = reindex(id, previous, order);
+            changes[0] = recordChanges(id, previous, entry);
+            applied[0] = true;
+            return entry;
+        });
+        return applied[0];
+    }
+
+    boolean applyDelete(String orderId, OrderChange[][] changes) {
+        boolean[] removed = new boolean[1];
+        // Unindex inside the per-key update so a concurrent save of the same id cannot interleave
+        orders.computeIfPresent(orderId, (id, entry) -> {
+            unindex(id, entry);
+            orderIds.remove(id);
+            detach(entry, null);
+            removed[0] = true;
+            changes[0] = recordChanges(id, entry, null);
+            return null;
+        });
+        return removed[0];
+    }
+
+    // Index maintenance (keys are captured at save time so stale entries can be removed later)
+    private IndexEntry reindex(String orderId, IndexEntry previous, Order order) {
+        if (previous != null) {
+            unindex(orderId, previous);
+        }
+        IndexEntry entry = new IndexEntry(order);
+        index(orderId, entry);
+        orderIds.add(orderId);
+        detach(previous, order);
+        order.setOwner(owner);
+        return entry;
+    }
+
+    // An order object replaced by another (or deleted) no longer routes its status changes here
+    private static void detach(IndexEntry previous, Order replacement) {
+        if (previous != null && previous.order != null && previous.order != replacement) {
+            previous.order.setOwner(null);
+        }
+    }
+
+    private void index(String orderId, IndexEntry entry) {
+        dateIndex.put(entry.dateKey, orderId);
+        // compute/computeIfPresent are atomic per key on ConcurrentHashMap, so a customer's map is never
+        // dropped for being empty while another writer is adding to it
+        customerIndex.compute(entry.customerId, (k, customerOrders) -> {
+            NavigableMap<OrderedKey<LocalDateTime>, String> bucket = customerOrders != null ? customerOrders
+                : concurrent ? new ConcurrentSkipListMap<>() : new TreeMap<>();
+            bucket.put(entry.dateKey, orderId);
+            return bucket;
+        });
+        statusCounts.incrementAndGet(entry.status.ordinal());
+        if (entry.status != Order.OrderStatus.CANCELLED) {
+            revenueCents.addAndGet(entry.totalCents);
+        }
+    }
+
+    private void unindex(String orderId, IndexEntry entry) {
+        dateIndex.remove(entry.dateKey, orderId);
+        customerIndex.computeIfPresent(entry.customerId, (k, customerOrders) -> {
+            customerOrders.remove(entry.dateKey, orderId);
+            return customerOrders.isEmpty() ? null : customerOrders;
+        });
+        statusCounts.decrementAndGet(entry.status.ordinal());
+        if (entry.status != Order.OrderStatus.CANCELLED) {
+            revenueCents.addAndGet(-entry.totalCents);
+        }
+        if (entry.isArchived()) {
+            archivedCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Describes how {@code entry} differs from {@code previous} (null for a new order,
+     * and {@code entry} null for a delete) and claims feed sequences for it. Runs inside
+     * the per-key update, so changes to one order are sequenced in the order applied;
+     * returns null when there is nothing to publish.
+     */
+    private OrderChange[] recordChanges(String orderId, IndexEntry previous, IndexEntry entry) {
+        if (!changeFeed.hasSubscribers()) {
+            return null;
+        }
+        OrderChange.Type[] types = new OrderChange.Type[3];
+        int count = 0;
+        if (previous == null) {
+            types[count++] = OrderChange.Type.CREATED;
+        } else if (entry == null) {
+            types[count++] = OrderChange.Type.DELETED;
+        } else {
+            if (entry.itemCount > previous.itemCount) {
+                types[count++] = OrderChange.Type.ITEM_ADDED;
+            } else if (entry.itemCount < previous.itemCount) {
+                types[count++] = OrderChange.Type.ITEM_REMOVED;
+            } else if (entry.subtotalCents != previous.subtotalCents) {
+                types[count++] = OrderChange.Type.ITEM_UPDATED;
+            }
+            if (entry.totalCents - entry.subtotalCents != previous.totalCents - previous.subtotalCents) {
+                types[count++] = OrderChange.Type.PRICED;
+            }
+            if (entry.status != previous.status) {
+                types[count++] = OrderChange.Type.STATUS_CHANGED;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+
+        IndexEntry snapshot = entry != null ? entry : previous;
+        Order.OrderStatus previousStatus = previous != null ? previous.status : snapshot.status;
+        long sequence = changeFeed.claim(count);
+        OrderChange[] changes = new OrderChange[count];
+        for (int i = 0; i < count; i++) {
+            changes[i] = new OrderChange(sequence + i, types[i], orderId, snapshot.customerId,
+                                         snapshot.status, previousStatus, snapshot.itemCount, snapshot.totalCents);
+        }
+        return changes;
+    }
+
+    /**
+     * Hands recorded changes to the feed once the per-key update has finished,
+     * so waiting for slow subscribers never holds the order's lock
+     */
+    void publish(OrderChange[] changes) {
+        if (changes != null) {
+            changeFeed.publish(changes);
+        }
+    }
+
+    private Order orderOf(IndexEntry entry) {
+        if (!entry.isArchived()) {
+            return entry.order;
+        }
+        Order order = archive.read(entry.archiveLocation);
+        order.setOwner(owner);
+        return order;
+    }
+
+    private static boolean isTerminal(Order.OrderStatus status) {
+        return status == Order.OrderStatus.DELIVERED || status == Order.OrderStatus.CANCELLED;
+    }
+
+    private List<Order> resolve(Map<OrderedKey<LocalDateTime>, String> slice, int limit) {
+        List<Order> result = new ArrayList<>();
+        if (limit <= 0) {
+            return result;
+        }
+        for (String orderId : slice.values()) {
+            IndexEntry entry = orders.get(orderId);
+            if (entry != null) {
+                result.add(orderOf(entry));
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Primary map value: the order plus the index keys it was filed under.
+     * Archived entries drop the order and keep its archive location instead.
+     */
+    private static final class IndexEntry {
+        private static final long NOT_ARCHIVED = -1;
+
+        final Order order;
+        final long archiveLocation;
+        final OrderedKey<LocalDateTime> dateKey;
+        final String customerId;
+        final Order.OrderStatus status;
+        final int itemCount;
+        final long subtotalCents;
+        final long totalCents;
+
+        IndexEntry(Order order) {
+            this.order = order;
+            this.archiveLocation = NOT_ARCHIVED;
+            this.dateKey = new OrderedKey<>(order.getOrderDate(), order.getOrderId());
+            this.customerId = order.getCustomerId();
+            this.status = order.getStatus();
+            this.itemCount = order.getItemCount();
+            this.subtotalCents = order.getSubtotal().getCents();
+            this.totalCents = order.getTotal().getCents();
+        }
+
+        private IndexEntry(IndexEntry onHeap, long archiveLocation) {
+            this.order = null;
+            this.archiveLocation = archiveLocation;
+            this.dateKey = onHeap.dateKey;
+            this.customerId = onHeap.customerId;
+            this.status = onHeap.status;
+            this.itemCount = onHeap.itemCount;
+            this.subtotalCents = onHeap.subtotalCents;
+            this.totalCents = onHeap.totalCents;
+        }
+
+        IndexEntry archivedAt(long location) {
+            return new IndexEntry(this, location);
+        }
+
+        boolean isArchived() {
+            return order == null;
+        }
     }
-}
\ No newline at end of file
+}
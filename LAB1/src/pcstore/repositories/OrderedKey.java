@@ -0,0 +1,39 @@
+package pcstore.repositories;
+
+/**
+ * OrderedKey class (SRP: Only responsible for ordering entries of a sorted index)
+ * Orders by an indexed value (price, order date, ...) with ties broken by record id,
+ * so every record has its own key and no per-value buckets are needed.
+ *
+ * A null id sorts after every real id, which makes inclusive upper bounds easy.
+ * Only meant for sorted maps, which compare keys and never call equals/hashCode.
+ */
+final class OrderedKey<V extends Comparable<? super V>> implements Comparable<OrderedKey<V>> {
+    final V value;
+    final String id;
+
+    OrderedKey(V value, String id) {
+        this.value = value;
+        this.id = id;
+    }
+
+    static <V extends Comparable<? super V>> OrderedKey<V> lowerBound(V value) {
+        return new OrderedKey<>(value, "");
+    }
+
+    static <V extends Comparable<? super V>> OrderedKey<V> upperBound(V value) {
+        return new OrderedKey<>(value, null);
+    }
+
+    @Override
+    public int compareTo(OrderedKey<V> other) {
+        int byValue = value.compareTo(other.value);
+        if (byValue != 0) {
+            return byValue;
+        }
+        if (id == null || other.id == null) {
+            return id == null ? (other.id == null ? 0 : 1) : -1;
+        }
+        return id.compareTo(other.id);
+    }
+}
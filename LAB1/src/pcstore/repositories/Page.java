@@ -0,0 +1,58 @@
+package pcstore.repositories;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Page class (SRP: Only responsible for carrying one page of a keyset-paginated query)
+ * Pages are ordered by record id and the cursor is the id of the last record returned,
+ * so the next page starts strictly after it. Unlike offsets, a cursor stays valid while
+ * records are added or removed elsewhere, and fetching page n does not re-read pages 1..n-1.
+ */
+public final class Page<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    private Page(List<T> items, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Cursor to pass for the following page, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Builds the page of up to {@code limit} records whose ids follow {@code afterCursor}
+     * (null for the first page). Ids that no longer resolve to a record are skipped.
+     */
+    static <T> Page<T> after(NavigableSet<String> ids, String afterCursor, int limit, Function<String, T> lookup) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        NavigableSet<String> remaining = afterCursor == null ? ids : ids.tailSet(afterCursor, false);
+        List<T> items = new ArrayList<>(Math.min(limit, 64));
+        String last = null;
+        Iterator<String> iterator = remaining.iterator();
+        while (iterator.hasNext() && items.size() < limit) {
+            String id = iterator.next();
+            T item = lookup.apply(id);
+            if (item != null) {
+                items.add(item);
+                last = id;
+            }
+        }
+        return new Page<>(items, iterator.hasNext() ? last : null);
+    }
+}
@@ -1,74 +1,280 @@
 package pcstore.repositories;
 
 import pcstore.models.Product;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * ProductRepository class (SRP: Only responsible for product data persistence)
  * Demonstrates Single Responsibility Principle
+ *
+ * Category and brand lookups are served from case-folded secondary indexes that
+ * every write keeps in sync, so they cost O(k) in the size of the result.
+ * Price ranges are answered from a sorted price index in O(log n + k), and
+ * text search goes through a trigram index over name, brand and description.
+ *
+ * Index keys are taken from the product when it is saved. Change indexed fields (name,
+ * brand, price, description) through update(), which re-files the product in the same
+ * step; a product changed through its setters directly is only re-filed when it is
+ * saved again, and until then the lookups answer from the old values.
+ *
+ * The catalog can be written to a binary snapshot and reopened by memory-mapping it:
+ * only the id, category, brand and price of each record are read up front. Names and
+ * descriptions join the text index on the first search after the load, and each
+ * Product is decoded on first access.
+ *
+ * Large catalogs can be walked without copying them: stream() iterates the table in place
+ * and findPage() pages through it in product id order with a keyset cursor.
  */
 public class ProductRepository {
-    private final Map<String, Product> products;
+    private static final int NAME_MATCH_RANK = 3;
+
+    private final boolean concurrent;
+    private final Map<String, IndexEntry> products;
+    // Product ids in order, for keyset pagination
+    private final NavigableSet<String> productIds;
+
+    // Secondary indexes (case-folded key -> product ids), maintained by save/deleteById
+    private final Map<String, Set<String>> categoryIndex;
+    private final Map<String, Set<String>> brandIndex;
+    private final NavigableMap<OrderedKey<BigDecimal>, String> priceIndex;
+    private final TrigramIndex searchIndex;
+    // Snapshot entries whose text is not in the search index yet; drained by the next search
+    private final Queue<IndexEntry> unindexedText;
+    private volatile boolean textPending;
 
     public ProductRepository() {
-        this.products = new HashMap<>();
+        this(false);
+    }
+
+    /**
+     * @param concurrent back the repository with concurrent maps (see ConcurrentProductRepository)
+     */
+    protected ProductRepository(boolean concurrent) {
+        this.concurrent = concurrent;
+        this.products = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.productIds = concurrent ? new ConcurrentSkipListSet<>() : new TreeSet<>();
+        this.categoryIndex = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.brandIndex = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.priceIndex = concurrent ? new ConcurrentSkipListMap<>() : new TreeMap<>();
+        this.searchIndex = new TrigramIndex(concurrent);
+        this.unindexedText = concurrent ? new ConcurrentLinkedQueue<>() : new ArrayDeque<>();
     }
 
     // Basic CRUD operations (SRP: only data persistence)
     public void save(Product product) {
-        products.put(product.getProductId(), product);
+        // Re-indexes on every save, so brand/category changes are picked up when the product is saved again
+        put(product.getProductId(), new IndexEntry(product));
+    }
+
+    /**
+     * Saves a batch in one call. Index keys, including the search trigrams that dominate
+     * the cost of a save, are computed in parallel up front; the entries are then filed in
+     * batch order, so a later duplicate id wins exactly as with repeated save calls.
+     */
+    public void saveAll(Collection<? extends Product> batch) {
+        List<IndexEntry> entries = batch.parallelStream()
+                                        .map(IndexEntry::new)
+                                        .collect(Collectors.toList());
+        for (IndexEntry entry : entries) {
+            put(entry.productId, entry);
+        }
+    }
+
+    /**
+     * Applies {@code change} to a stored product and re-files it under its new index keys,
+     * atomically with respect to other writes of the same id. Returns false if there is no such product.
+     */
+    public boolean update(String productId, Consumer<? super Product> change) {
+        boolean[] updated = new boolean[1];
+        products.computeIfPresent(productId, (id, previous) -> {
+            Product product = previous.product();
+            change.accept(product);
+            IndexEntry entry = new IndexEntry(product);
+            unindex(id, previous);
+            index(id, entry);
+            updated[0] = true;
+            return entry;
+        });
+        return updated[0];
     }
 
     public Optional<Product> findById(String productId) {
-        return Optional.ofNullable(products.get(productId));
+        IndexEntry entry = products.get(productId);
+        return entry == null ? Optional.empty() : Optional.of(entry.product());
     }
 
     public List<Product> findAll() {
-        return new ArrayList<>(products.values());
+        List<Product> result = new ArrayList<>(products.size());
+        for (IndexEntry entry : products.values()) {
+            result.add(entry.product());
+        }
+        return result;
     }
 
     public boolean deleteById(String productId) {
-        return products.remove(productId) != null;
+        boolean[] removed = new boolean[1];
+        // Unindex inside the per-key update so a concurrent save of the same id cannot interleave
+        products.computeIfPresent(productId, (id, entry) -> {
+            unindex(id, entry);
+            productIds.remove(id);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
     }
 
     public boolean existsById(String productId) {
         return products.containsKey(productId);
     }
 
+    /**
+     * True if this repository may be read and written from several threads at once
+     */
+    public boolean isThreadSafe() {
+        return concurrent;
+    }
+
+    /**
+     * Streams every product without copying the table. On the plain repository the stream is
+     * SIZED, so count() needs no traversal and parallel streams split the table evenly.
+     */
+    public Stream<Product> stream() {
+        return products.values().stream().map(IndexEntry::product);
+    }
+
+    /**
+     * Up to {@code limit} products in product id order, starting after {@code afterCursor}
+     * (null for the first page); pass the page's next cursor to continue
+     */
+    public Page<Product> findPage(String afterCursor, int limit) {
+        return Page.after(productIds, afterCursor, limit, productId -> {
+            IndexEntry entry = products.get(productId);
+            return entry == null ? null : entry.product();
+        });
+    }
+
     // Query methods (SRP: only data retrieval)
     public List<Product> findByCategory(String category) {
-        return products.values().stream()
-                      .filter(product -> product.getCategory().equalsIgnoreCase(category))
-                      .collect(Collectors.toList());
+        return resolve(categoryIndex.get(normalize(category)));
     }
 
     public List<Product> findByBrand(String brand) {
-        return products.values().stream()
-                      .filter(product -> product.getBrand().equalsIgnoreCase(brand))
-                      .collect(Collectors.toList());
+        return resolve(brandIndex.get(normalize(brand)));
     }
 
     public List<Product> findInStock() {
         return products.values().stream()
+                      .map(entry -> entry.product())
                       .filter(Product::isInStock)
                       .collect(Collectors.toList());
     }
 
+    /**
+     * NaN bounds match nothing; infinite bounds leave that side of the range open
+     */
     public List<Product> findByPriceRange(double minPrice, double maxPrice) {
-        return products.values().stream()
-                      .filter(product -> {
-                          double price = product.getBasePrice().doubleValue();
-                          return price >= minPrice && price <= maxPrice;
-                      })
-                      .collect(Collectors.toList());
+        if (Double.isNaN(minPrice) || Double.isNaN(maxPrice)) {
+            return new ArrayList<>();
+        }
+        return findByPriceRange(priceBound(minPrice), priceBound(maxPrice), Integer.MAX_VALUE);
+    }
+
+    // BigDecimal has no infinity; the largest finite doubles bound every price just as well
+    private static BigDecimal priceBound(double price) {
+        return BigDecimal.valueOf(Math.max(-Double.MAX_VALUE, Math.min(Double.MAX_VALUE, price)));
+    }
+
+    /**
+     * Returns products priced within [minPrice, maxPrice], cheapest first,
+     * stopping after {@code limit} results
+     */
+    public List<Product> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, int limit) {
+        List<Product> result = new ArrayList<>();
+        if (minPrice.compareTo(maxPrice) > 0 || limit <= 0) {
+            return result;
+        }
+        Collection<String> productIds = priceIndex.subMap(OrderedKey.lowerBound(minPrice), true,
+                                                          OrderedKey.upperBound(maxPrice), true).values();
+        for (String productId : productIds) {
+            IndexEntry entry = products.get(productId);
+            if (entry != null) {
+                result.add(entry.product());
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return result;
     }
 
     public List<Product> searchByName(String nameQuery) {
-        String query = nameQuery.toLowerCase();
-        return products.values().stream()
-                      .filter(product -> product.getName().toLowerCase().contains(query))
-                      .collect(Collectors.toList());
+        return search(nameQuery, Integer.MAX_VALUE, true);
+    }
+
+    /**
+     * Substring/prefix search over name, brand and description, best matches first:
+     * exact name, name prefix, word prefix in name, anywhere in name, then brand and description
+     */
+    public List<Product> search(String query, int limit) {
+        return search(query, limit, false);
+    }
+
+    private List<Product> search(String rawQuery, int limit, boolean nameOnly) {
+        indexPendingText();
+        String query = normalize(rawQuery);
+        Collection<String> candidates = TrigramIndex.canNarrow(query) ? searchIndex.candidates(query) : products.keySet();
+
+        List<SearchMatch> matches = new ArrayList<>();
+        for (String productId : candidates) {
+            IndexEntry entry = products.get(productId);
+            // Entries of a snapshot still being loaded have no text yet
+            if (entry == null || !entry.hasText()) {
+                continue;
+            }
+            int rank = matchRank(entry, query);
+            if (rank >= 0 && (!nameOnly || rank <= NAME_MATCH_RANK)) {
+                matches.add(new SearchMatch(entry, rank));
+            }
+        }
+        matches.sort(SearchMatch.BEST_FIRST);
+
+        int size = Math.min(limit, matches.size());
+        List<Product> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(matches.get(i).entry.product());
+        }
+        return result;
+    }
+
+    private static int matchRank(IndexEntry entry, String query) {
+        String name = entry.nameKey;
+        if (name.equals(query)) {
+            return 0;
+        }
+        if (name.startsWith(query)) {
+            return 1;
+        }
+        int position = name.indexOf(query);
+        if (position > 0) {
+            return Character.isLetterOrDigit(name.charAt(position - 1)) ? NAME_MATCH_RANK : 2;
+        }
+        if (entry.brandKey.contains(query)) {
+            return entry.brandKey.startsWith(query) ? 4 : 5;
+        }
+        if (entry.descriptionKey.contains(query)) {
+            return 6;
+        }
+        return -1;
     }
 
     public int getTotalCount() {
@@ -77,14 +283,240 @@ public class ProductRepository {
 
     public long getInStockCount() {
         return products.values().stream()
-                      .filter(Product::isInStock)
+                      .filter(entry -> entry.product().isInStock())
                       .count();
     }
 
     public void updateStock(String productId, int newStock) {
-        Product product = products.get(productId);
-        if (product != null) {
-            product.setStockQuantity(newStock);
+        IndexEntry entry = products.get(productId);
+        if (entry != null) {
+            entry.product().setStockQuantity(newStock);
+        }
+    }
+
+    /**
+     * Tells the repository that a product's stock was changed in place (see Product.tryTakeStock).
+     * Stock is not indexed here, so there is nothing to do; column stores override this.
+     */
+    public void refreshStock(String productId) {
+    }
+
+    // Snapshot support (fast restarts for large catalogs)
+    public void writeSnapshot(Path file) throws IOException {
+        ProductSnapshot.write(file, findAll());
+    }
+
+    /**
+     * Adds every product from a snapshot written by writeSnapshot, replacing products with
+     * the same id. The file is memory-mapped; products are materialized lazily on access,
+     * and their text is indexed by the first search. Returns the number of products loaded.
+     */
+    public int loadSnapshot(Path file) throws IOException {
+        ProductSnapshot snapshot = ProductSnapshot.open(file);
+        int[] loaded = new int[1];
+        snapshot.forEachRecord(record -> {
+            IndexEntry entry = new IndexEntry(snapshot, record);
+            put(record.productId, entry);
+            unindexedText.add(entry);
+            snapshotRecordLoaded(record);
+            loaded[0]++;
+        });
+        // Raised under the drain lock, so a drain that is finishing cannot clear it after these entries
+        synchronized (unindexedText) {
+            textPending = true;
+        }
+        return loaded[0];
+    }
+
+    /**
+     * Called for each record loadSnapshot files, so subclasses can pick up its fields without
+     * decoding the product
+     */
+    void snapshotRecordLoaded(ProductSnapshot.Record record) {
+    }
+
+    // Reads the name and description of every snapshot entry still in the table and indexes them
+    private void indexPendingText() {
+        if (!textPending) {
+            return;
+        }
+        synchronized (unindexedText) {
+            IndexEntry pending;
+            while ((pending = unindexedText.poll()) != null) {
+                IndexEntry entry = pending;
+                // Under the per-key update, so a concurrent save or delete of the id sees the text or none of it
+                products.computeIfPresent(entry.productId, (id, current) -> {
+                    if (current == entry && !entry.hasText()) {
+                        entry.readText();
+                        searchIndex.add(id, entry.searchGrams);
+                    }
+                    return current;
+                });
+            }
+            textPending = false;
+        }
+    }
+
+    // Index maintenance (keys are captured at save time so stale entries can be removed later)
+    private void put(String productId, IndexEntry entry) {
+        products.compute(productId, (id, previous) -> {
+            if (previous != null) {
+                unindex(id, previous);
+            }
+            index(id, entry);
+            productIds.add(id);
+            return entry;
+        });
+    }
+
+    private void index(String productId, IndexEntry entry) {
+        addToIndex(categoryIndex, entry.categoryKey, productId);
+        addToIndex(brandIndex, entry.brandKey, productId);
+        if (entry.priceKey != null) {
+            priceIndex.put(entry.priceKey, productId);
+        }
+        if (entry.hasText()) {
+            searchIndex.add(productId, entry.searchGrams);
+        }
+    }
+
+    private void unindex(String productId, IndexEntry entry) {
+        removeFromIndex(categoryIndex, entry.categoryKey, productId);
+        removeFromIndex(brandIndex, entry.brandKey, productId);
+        if (entry.priceKey != null) {
+            priceIndex.remove(entry.priceKey, productId);
+        }
+        if (entry.hasText()) {
+            searchIndex.remove(productId, entry.searchGrams);
+        }
+    }
+
+    // compute/computeIfPresent are atomic per key on ConcurrentHashMap, so a bucket is never
+    // dropped for being empty while another writer is adding to it
+    private void addToIndex(Map<String, Set<String>> index, String key, String productId) {
+        index.compute(key, (k, productIds) -> {
+            Set<String> bucket = productIds != null ? productIds
+                               : concurrent ? ConcurrentHashMap.newKeySet() : new LinkedHashSet<>();
+            bucket.add(productId);
+            return bucket;
+        });
+    }
+
+    private static void removeFromIndex(Map<String, Set<String>> index, String key, String productId) {
+        index.computeIfPresent(key, (k, productIds) -> {
+            productIds.remove(productId);
+            return productIds.isEmpty() ? null : productIds;
+        });
+    }
+
+    private List<Product> resolve(Collection<String> productIds) {
+        if (productIds == null) {
+            return new ArrayList<>();
+        }
+        List<Product> result = new ArrayList<>(productIds.size());
+        for (String productId : productIds) {
+            IndexEntry entry = products.get(productId);
+            if (entry != null) {
+                result.add(entry.product());
+            }
+        }
+        return result;
+    }
+
+    static String normalize(String key) {
+        return key == null ? "" : key.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Primary map value: the product plus the index keys it was filed under.
+     * Entries loaded from a snapshot keep their place in it instead: the product is decoded
+     * once, on demand, and the text keys are filled in when the text is first indexed.
+     */
+    private static final class IndexEntry {
+        private volatile Product product;
+        private final ProductSnapshot snapshot;
+        private final int offset;
+        final String productId;
+        final String categoryKey;
+        final String brandKey;
+        final OrderedKey<BigDecimal> priceKey;
+        // Null until the text is indexed; set under the per-key update and read by searches after it
+        String nameKey;
+        String descriptionKey;
+        Set<String> searchGrams;
+
+        IndexEntry(Product product) {
+            this.product = product;
+            this.snapshot = null;
+            this.offset = -1;
+            this.productId = product.getProductId();
+            this.categoryKey = normalize(product.getCategory());
+            this.brandKey = normalize(product.getBrand());
+            this.priceKey = priceKey(product.getBasePrice(), productId);
+            setText(product.getName(), product.getDescription());
+        }
+
+        IndexEntry(ProductSnapshot snapshot, ProductSnapshot.Record record) {
+            this.snapshot = snapshot;
+            this.offset = record.offset;
+            this.productId = record.productId;
+            this.categoryKey = normalize(record.category);
+            this.brandKey = normalize(record.brand);
+            this.priceKey = priceKey(record.price, productId);
+        }
+
+        private static OrderedKey<BigDecimal> priceKey(BigDecimal price, String productId) {
+            return price == null ? null : new OrderedKey<>(price, productId);
+        }
+
+        boolean hasText() {
+            return searchGrams != null;
+        }
+
+        void readText() {
+            String[] text = snapshot.readText(offset);
+            setText(text[0], text[1]);
+        }
+
+        private void setText(String name, String description) {
+            nameKey = normalize(name);
+            descriptionKey = normalize(description);
+            Set<String> grams = TrigramIndex.trigrams(nameKey);
+            TrigramIndex.addTrigrams(brandKey, grams);
+            TrigramIndex.addTrigrams(descriptionKey, grams);
+            searchGrams = grams;
+        }
+
+        Product product() {
+            Product loaded = product;
+            if (loaded == null) {
+                synchronized (this) {
+                    loaded = product;
+                    if (loaded == null) {
+                        loaded = snapshot.load(offset);
+                        product = loaded;
+                    }
+                }
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * A search hit and its rank (lower is better)
+     */
+    private static final class SearchMatch {
+        static final Comparator<SearchMatch> BEST_FIRST =
+            Comparator.<SearchMatch>comparingInt(match -> match.rank)
+                      .thenComparingInt(match -> match.entry.nameKey.length())
+                      .thenComparing(match -> match.entry.nameKey);
+
+        final IndexEntry entry;
+        final int rank;
+
+        SearchMatch(IndexEntry entry, int rank) {
+            this.entry = entry;
+            this.rank = rank;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,224 @@
+package pcstore.repositories;
+
+import pcstore.models.Accessory;
+import pcstore.models.Desktop;
+import pcstore.models.Laptop;
+import pcstore.models.Product;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+import static pcstore.repositories.OrderCodec.readDecimal;
+import static pcstore.repositories.OrderCodec.readString;
+import static pcstore.repositories.OrderCodec.skipString;
+import static pcstore.repositories.OrderCodec.writeDecimal;
+import static pcstore.repositories.OrderCodec.writeString;
+
+/**
+ * ProductSnapshot class (SRP: Only responsible for the binary catalog snapshot file)
+ *
+ * Layout: [magic][record count], then one record per product:
+ * [body length][type][id][category][name][brand][description][price][stock][subtype fields].
+ * The fields the repository indexes come first. Opening a snapshot reads only the id,
+ * category, brand, price and stock of each record from the memory-mapped file and skips
+ * over the text; name and description are read when the text index is first needed,
+ * and the Product object itself is decoded on first access.
+ */
+final class ProductSnapshot {
+    private static final int MAGIC = 0x50435331; // "PCS1"
+
+    private static final byte LAPTOP = 1;
+    private static final byte DESKTOP = 2;
+    private static final byte ACCESSORY = 3;
+
+    /**
+     * Receives the index keys of each record
+     */
+    interface RecordHandler {
+        void onRecord(Record record);
+    }
+
+    /**
+     * The fields of one record that are read when the snapshot is opened, and where its body starts
+     */
+    static final class Record {
+        final String productId;
+        final String category;
+        final String brand;
+        final BigDecimal price;
+        final int stock;
+        final int offset;
+
+        Record(String productId, String category, String brand, BigDecimal price, int stock, int offset) {
+            this.productId = productId;
+            this.category = category;
+            this.brand = brand;
+            this.price = price;
+            this.stock = stock;
+            this.offset = offset;
+        }
+    }
+
+    private final MappedByteBuffer buffer;
+
+    private ProductSnapshot(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    static void write(Path file, Collection<Product> products) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream stream = Files.newOutputStream(temporary);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(products.size());
+            ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+            DataOutputStream recordOut = new DataOutputStream(record);
+            for (Product product : products) {
+                record.reset();
+                encode(recordOut, product);
+                recordOut.flush();
+                out.writeInt(record.size());
+                record.writeTo(out);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Memory-maps a snapshot file; the mapping stays valid after the channel is closed
+     */
+    static ProductSnapshot open(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a product snapshot: " + file);
+        }
+        return new ProductSnapshot(buffer);
+    }
+
+    /**
+     * Reads the id, category, brand, price and stock of every record, skipping the text fields
+     */
+    void forEachRecord(RecordHandler handler) {
+        ByteBuffer in = buffer.duplicate();
+        in.position(Integer.BYTES);
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            int length = in.getInt();
+            int offset = in.position();
+            in.get(); // type
+            String productId = readString(in);
+            String category = readString(in);
+            skipString(in); // name
+            String brand = readString(in);
+            skipString(in); // description
+            BigDecimal price = readDecimal(in);
+            handler.onRecord(new Record(productId, category, brand, price, in.getInt(), offset));
+            in.position(offset + length);
+        }
+    }
+
+    /**
+     * Reads the name and description of the record whose body starts at the given offset
+     */
+    String[] readText(int offset) {
+        ByteBuffer in = buffer.duplicate();
+        in.position(offset + 1);
+        skipString(in); // id
+        skipString(in); // category
+        String name = readString(in);
+        skipString(in); // brand
+        return new String[] {name, readString(in)};
+    }
+
+    /**
+     * Decodes the full product whose record body starts at the given offset
+     */
+    Product load(int offset) {
+        ByteBuffer in = buffer.duplicate();
+        in.position(offset);
+        byte type = in.get();
+        String productId = readString(in);
+        readString(in); // category, implied by the type
+        String name = readString(in);
+        String brand = readString(in);
+        String description = readString(in);
+        BigDecimal price = readDecimal(in);
+        int stock = in.getInt();
+
+        switch (type) {
+            case LAPTOP:
+                return new Laptop(productId, name, brand, price, stock, description,
+                                  readString(in), in.getInt(), in.getInt(), readString(in), readString(in));
+            case DESKTOP:
+                return new Desktop(productId, name, brand, price, stock, description,
+                                   readString(in), in.getInt(), in.getInt(), readString(in), readString(in),
+                                   in.get() != 0);
+            case ACCESSORY:
+                return new Accessory(productId, name, brand, price, stock, description,
+                                     readString(in), readString(in), readString(in), in.get() != 0);
+            default:
+                throw new IllegalStateException("Unknown product type in snapshot: " + type);
+        }
+    }
+
+    private static void encode(DataOutputStream out, Product product) throws IOException {
+        out.writeByte(typeOf(product));
+        writeString(out, product.getProductId());
+        writeString(out, product.getCategory());
+        writeString(out, product.getName());
+        writeString(out, product.getBrand());
+        writeString(out, product.getDescription());
+        writeDecimal(out, product.getBasePrice());
+        out.writeInt(product.getStockQuantity());
+
+        if (product instanceof Laptop) {
+            Laptop laptop = (Laptop) product;
+            writeString(out, laptop.getProcessor());
+            out.writeInt(laptop.getRamGB());
+            out.writeInt(laptop.getStorageGB());
+            writeString(out, laptop.getScreenSize());
+            writeString(out, laptop.getOperatingSystem());
+        } else if (product instanceof Desktop) {
+            Desktop desktop = (Desktop) product;
+            writeString(out, desktop.getProcessor());
+            out.writeInt(desktop.getRamGB());
+            out.writeInt(desktop.getStorageGB());
+            writeString(out, desktop.getGraphicsCard());
+            writeString(out, desktop.getMotherboard());
+            out.writeBoolean(desktop.hasWiFi());
+        } else {
+            Accessory accessory = (Accessory) product;
+            writeString(out, accessory.getAccessoryType());
+            writeString(out, accessory.getCompatibility());
+            writeString(out, accessory.getColor());
+            out.writeBoolean(accessory.isWireless());
+        }
+    }
+
+    private static byte typeOf(Product product) {
+        if (product instanceof Laptop) {
+            return LAPTOP;
+        }
+        if (product instanceof Desktop) {
+            return DESKTOP;
+        }
+        if (product instanceof Accessory) {
+            return ACCESSORY;
+        }
+        throw new IllegalArgumentException("Snapshot does not support product type " + product.getClass().getSimpleName());
+    }
+}
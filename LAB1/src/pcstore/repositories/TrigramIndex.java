@@ -0,0 +1,121 @@
+package pcstore.repositories;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TrigramIndex class (SRP: Only responsible for substring lookups over indexed text)
+ * Maps every three-character window of the indexed text to the ids containing it,
+ * so a query only touches the ids that share its trigrams instead of every record.
+ *
+ * Candidates are a superset of the real matches; callers verify them against the
+ * actual text. Queries shorter than three characters contain no whole trigram, so
+ * the index cannot narrow them (see canNarrow): callers scan their records directly.
+ * Text is padded with a space on both sides so word boundaries count as trigrams.
+ *
+ * When built as concurrent, posting lists are concurrent sets updated atomically per
+ * trigram, and lookups never block writers.
+ */
+class TrigramIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final boolean concurrent;
+    private final Map<String, Set<String>> postings;
+
+    TrigramIndex(boolean concurrent) {
+        this.concurrent = concurrent;
+        this.postings = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    /**
+     * Returns the trigrams of already normalized (case-folded) text
+     */
+    static Set<String> trigrams(String normalizedText) {
+        Set<String> grams = new HashSet<>();
+        addTrigrams(normalizedText, grams);
+        return grams;
+    }
+
+    static void addTrigrams(String normalizedText, Set<String> grams) {
+        if (normalizedText == null || normalizedText.isEmpty()) {
+            return;
+        }
+        String padded = " " + normalizedText + " ";
+        for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM_LENGTH));
+        }
+    }
+
+    void add(String id, Set<String> grams) {
+        for (String gram : grams) {
+            postings.compute(gram, (g, ids) -> {
+                Set<String> posting = ids != null ? ids : concurrent ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+                posting.add(id);
+                return posting;
+            });
+        }
+    }
+
+    void remove(String id, Set<String> grams) {
+        for (String gram : grams) {
+            postings.computeIfPresent(gram, (g, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Returns ids that may share at least {@code minShared} of the given trigrams.
+     * Any such id must appear in one of the (grams - minShared + 1) rarest posting lists,
+     * so only those are read and the most common trigrams are never scanned.
+     */
+    Set<String> candidatesSharing(Set<String> grams, int minShared) {
+        List<Set<String>> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            lists.add(postings.getOrDefault(gram, Collections.emptySet()));
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<String> result = new HashSet<>();
+        int needed = Math.min(lists.size(), grams.size() - Math.max(1, minShared) + 1);
+        for (int i = 0; i < needed; i++) {
+            result.addAll(lists.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * True if candidates() can answer the query; shorter queries would have to scan
+     * every posting key, which costs more than checking the records themselves
+     */
+    static boolean canNarrow(String normalizedQuery) {
+        return normalizedQuery.length() >= GRAM_LENGTH;
+    }
+
+    /**
+     * Returns ids whose indexed text may contain the normalized query, intersecting
+     * posting lists smallest first. The query must pass canNarrow.
+     */
+    Set<String> candidates(String normalizedQuery) {
+        if (!canNarrow(normalizedQuery)) {
+            throw new IllegalArgumentException("Query too short for the trigram index: " + normalizedQuery);
+        }
+
+        List<Set<String>> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalizedQuery.length(); i++) {
+            Set<String> ids = postings.get(normalizedQuery.substring(i, i + GRAM_LENGTH));
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<String> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+}
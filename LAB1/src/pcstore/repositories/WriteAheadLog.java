@@ -0,0 +1,219 @@
+package pcstore.repositories;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * WriteAheadLog class (SRP: Only responsible for appending and replaying log records)
+ * Append-only file of framed records: [payload length][type][payload][CRC32 of type + payload].
+ *
+ * Appends are cheap buffered writes; durability comes from awaitDurable, which uses group
+ * commit: the first waiter forces the channel on behalf of every record appended so far
+ * while later waiters block until that fsync covers them, so concurrent writers share
+ * one fsync instead of paying for one each.
+ *
+ * A failed append or fsync leaves the file in an unknown state (a partial frame, or pages
+ * the kernel may have dropped), so the log fails for good: that append or awaitDurable
+ * and every later one throw. Reopen the log to recover from the last intact record.
+ */
+final class WriteAheadLog implements Closeable {
+    private static final int HEADER_BYTES = Integer.BYTES + 1;
+    private static final int TRAILER_BYTES = Integer.BYTES;
+
+    /**
+     * Receives each valid record during replay
+     */
+    interface RecordHandler {
+        void onRecord(byte type, ByteBuffer payload);
+    }
+
+    /**
+     * Forces appended records to disk; replaced only by checks that simulate a failing disk
+     */
+    interface Sync {
+        Sync FORCE = channel -> channel.force(false);
+
+        void force(FileChannel channel) throws IOException;
+    }
+
+    private final FileChannel channel;
+    private final Sync sync;
+    // First append or sync failure; once set, nothing more is written
+    private volatile IOException failure;
+
+    // Append side: guarded by the channel monitor
+    private long appendedSequence;
+
+    // Sync side: guarded by syncLock
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition syncFinished = syncLock.newCondition();
+    private long durableSequence;
+    private boolean syncInProgress;
+
+    private WriteAheadLog(FileChannel channel, Sync sync) {
+        this.channel = channel;
+        this.sync = sync;
+    }
+
+    /**
+     * Opens (or creates) the log, replays every intact record and truncates a torn tail
+     * left by a crash, so new appends continue right after the last good record.
+     */
+    static WriteAheadLog open(Path file, RecordHandler handler) throws IOException {
+        return open(file, handler, Sync.FORCE);
+    }
+
+    static WriteAheadLog open(Path file, RecordHandler handler, Sync sync) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                               StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long validEnd = replay(channel, handler);
+            channel.truncate(validEnd);
+            channel.position(validEnd);
+            return new WriteAheadLog(channel, sync);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static long replay(FileChannel channel, RecordHandler handler) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return 0;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Log file too large to replay: " + size + " bytes");
+        }
+        ByteBuffer data = ByteBuffer.allocate((int) size);
+        while (data.hasRemaining() && channel.read(data, data.position()) >= 0) {
+            // keep reading until the buffer is full
+        }
+        data.flip();
+        CRC32 crc = new CRC32();
+        while (data.remaining() >= HEADER_BYTES + TRAILER_BYTES) {
+            int start = data.position();
+            int length = data.getInt();
+            if (length < 0 || length > data.remaining() - 1 - TRAILER_BYTES) {
+                return start;
+            }
+            ByteBuffer checked = data.slice();
+            checked.limit(1 + length);
+            crc.reset();
+            crc.update(checked);
+            byte type = data.get();
+            ByteBuffer payload = data.slice();
+            payload.limit(length);
+            data.position(data.position() + length);
+            if ((int) crc.getValue() != data.getInt()) {
+                return start;
+            }
+            handler.onRecord(type, payload);
+        }
+        return data.position();
+    }
+
+    /**
+     * Appends a record and returns its sequence number; not durable until awaitDurable
+     */
+    long append(byte type, byte[] payload) throws IOException {
+        ByteBuffer frame = frame(type, payload);
+        synchronized (channel) {
+            checkNotFailed();
+            try {
+                while (frame.hasRemaining()) {
+                    channel.write(frame);
+                }
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            }
+            return ++appendedSequence;
+        }
+    }
+
+    /**
+     * Blocks until the record with the given sequence number has been forced to disk
+     */
+    void awaitDurable(long sequence) throws IOException {
+        syncLock.lock();
+        try {
+            while (durableSequence < sequence) {
+                checkNotFailed();
+                if (syncInProgress) {
+                    syncFinished.awaitUninterruptibly();
+                    continue;
+                }
+                syncInProgress = true;
+                long target;
+                synchronized (channel) {
+                    target = appendedSequence;
+                }
+                syncLock.unlock();
+                boolean synced = false;
+                try {
+                    sync.force(channel);
+                    synced = true;
+                } catch (IOException e) {
+                    failure = e;
+                    throw e;
+                } finally {
+                    syncLock.lock();
+                    syncInProgress = false;
+                    if (synced) {
+                        durableSequence = Math.max(durableSequence, target);
+                    }
+                    syncFinished.signalAll();
+                }
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void checkNotFailed() throws IOException {
+        IOException failed = failure;
+        if (failed != null) {
+            throw new IOException("Log failed earlier and accepts no more writes", failed);
+        }
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Discards all records; callers must stop appenders and persist the state elsewhere first
+     */
+    void truncate() throws IOException {
+        synchronized (channel) {
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(true);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    static ByteBuffer frame(byte type, byte[] payload) {
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + payload.length + TRAILER_BYTES);
+        frame.putInt(payload.length);
+        frame.put(type);
+        frame.put(payload);
+        CRC32 crc = new CRC32();
+        crc.update(frame.array(), Integer.BYTES, 1 + payload.length);
+        frame.putInt((int) crc.getValue());
+        frame.flip();
+        return frame;
+    }
+}
@@ -0,0 +1,119 @@
+package pcstore.services;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * AsyncOrderService (SRP: Only responsible for running order operations asynchronously)
+ * Non-blocking front-end over OrderService: every call returns a CompletableFuture and
+ * the work runs on virtual threads (one per task), so thousands of carts can be in flight
+ * without a thread pool to size.
+ *
+ * Calls for the same order run one after another in submission order, chained behind
+ * that order's previous call; calls for different orders run fully in parallel. The
+ * wrapped OrderService should be built on the concurrent repositories.
+ *
+ * On runtimes without virtual threads (before Java 21) a cached pool of daemon platform
+ * threads is used instead.
+ */
+public class AsyncOrderService implements AutoCloseable {
+    private final OrderService orderService;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+
+    // Order id -> completion of the last call queued for that order; removed once it is drained
+    private final Map<String, CompletableFuture<Void>> orderQueues = new ConcurrentHashMap<>();
+
+    public AsyncOrderService(OrderService orderService) {
+        this(orderService, newVirtualThreadExecutor(), true);
+    }
+
+    /**
+     * Runs calls on the given executor, which the caller keeps ownership of
+     */
+    public AsyncOrderService(OrderService orderService, ExecutorService executor) {
+        this(orderService, executor, false);
+    }
+
+    private AsyncOrderService(OrderService orderService, ExecutorService executor, boolean ownsExecutor) {
+        this.orderService = orderService;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    public CompletableFuture<Optional<String>> createOrder(String customerId, String shippingAddress) {
+        // A new order has no earlier calls to wait for
+        return CompletableFuture.supplyAsync(() -> orderService.createOrder(customerId, shippingAddress), executor);
+    }
+
+    public CompletableFuture<Boolean> addItemToOrder(String orderId, String productId, int quantity) {
+        return inOrder(orderId, () -> orderService.addItemToOrder(orderId, productId, quantity));
+    }
+
+    public CompletableFuture<Boolean> removeItemFromOrder(String orderId, String productId) {
+        return inOrder(orderId, () -> orderService.removeItemFromOrder(orderId, productId));
+    }
+
+    public CompletableFuture<Boolean> processOrder(String orderId) {
+        return inOrder(orderId, () -> orderService.processOrder(orderId));
+    }
+
+    /**
+     * Runs the action after every call already queued for the order has finished.
+     * A failed call completes its own future exceptionally but does not block the queue;
+     * neither does a call the executor rejects (e.g. after close), whose future fails
+     * with the RejectedExecutionException.
+     */
+    private <T> CompletableFuture<T> inOrder(String orderId, Supplier<T> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Void> queued = orderQueues.compute(orderId, (id, previous) -> {
+            CompletableFuture<Void> after = previous != null ? previous : CompletableFuture.completedFuture(null);
+            // handleAsync runs however the previous call ended, even if it was never run
+            return after.handleAsync((ignored, previousError) -> {
+                try {
+                    result.complete(action.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+                return null;
+            }, executor);
+        });
+        queued.whenComplete((ignored, error) -> {
+            if (error != null) {
+                // The executor rejected the call, so the action never ran
+                result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+            // Drop the queue once it is drained, unless a later call has been chained behind it
+            orderQueues.remove(orderId, queued);
+        });
+        return result;
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "async-order");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
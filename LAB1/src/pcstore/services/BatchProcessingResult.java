@@ -0,0 +1,41 @@
+package pcstore.services;
+
+import pcstore.models.Money;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * BatchProcessingResult class (SRP: Only responsible for summarizing a batch of processed orders)
+ * Replaces the per-order console summary in batch mode: how many orders were confirmed,
+ * their combined total, and the reason each failed order was not confirmed.
+ */
+public class BatchProcessingResult {
+    private final int confirmedCount;
+    private final Money confirmedTotal;
+    private final Map<String, String> failures;
+
+    public BatchProcessingResult(int confirmedCount, Money confirmedTotal, Map<String, String> failures) {
+        this.confirmedCount = confirmedCount;
+        this.confirmedTotal = confirmedTotal;
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    public int getConfirmedCount() { return confirmedCount; }
+    public Money getConfirmedTotal() { return confirmedTotal; }
+    public int getFailedCount() { return failures.size(); }
+
+    /**
+     * Failed order id -> reason, in the order the ids were submitted
+     */
+    public Map<String, String> getFailures() { return failures; }
+
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchProcessingResult{confirmed=%d, total=%s, failed=%d}",
+                             confirmedCount, confirmedTotal, failures.size());
+    }
+}
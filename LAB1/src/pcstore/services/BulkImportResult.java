@@ -0,0 +1,32 @@
+package pcstore.services;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * BulkImportResult class (SRP: Only responsible for summarizing a bulk import)
+ * One aggregate report instead of a printed line per record: how many records
+ * were saved, and why each rejected record was turned away, in input order.
+ */
+public class BulkImportResult {
+    private final int importedCount;
+    private final List<String> rejections;
+
+    public BulkImportResult(int importedCount, List<String> rejections) {
+        this.importedCount = importedCount;
+        this.rejections = Collections.unmodifiableList(rejections);
+    }
+
+    public int getImportedCount() { return importedCount; }
+    public int getRejectedCount() { return rejections.size(); }
+    public List<String> getRejections() { return rejections; }
+
+    public boolean isComplete() {
+        return rejections.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "BulkImportResult{imported=" + importedCount + ", rejected=" + rejections.size() + "}";
+    }
+}
@@ -1,16 +1,24 @@
 package pcstore.services;
 
+import pcstore.logging.Logger;
+import pcstore.logging.Logging;
 import pcstore.models.Customer;
 import pcstore.repositories.CustomerRepository;
+import pcstore.repositories.Page;
 import pcstore.validators.CustomerValidator;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * CustomerService (SRP: Only responsible for customer business logic)
  * Demonstrates Single Responsibility Principle
  */
 public class CustomerService {
+    private static final Logger LOG = Logging.getLogger(CustomerService.class);
+    private static final String SEPARATOR = "=".repeat(40);
+    private static final String DETAILS_SEPARATOR = "=".repeat(30);
+
     private final CustomerRepository customerRepository;
     private final CustomerValidator customerValidator;
 
@@ -21,25 +29,102 @@ public class CustomerService {
 
     public boolean registerCustomer(Customer customer) {
         if (!customerValidator.validateCustomer(customer)) {
-            System.out.println("❌ Customer validation failed: " + customerValidator.getValidationErrors(customer));
+            LOG.warn("❌ Customer validation failed: {}", customerValidator.getValidationErrors(customer));
             return false;
         }
 
         if (customerRepository.existsById(customer.getCustomerId())) {
-            System.out.println("❌ Customer with ID " + customer.getCustomerId() + " already exists");
+            LOG.warn("❌ Customer with ID {} already exists", customer.getCustomerId());
             return false;
         }
 
         if (customerRepository.emailExists(customer.getEmail())) {
-            System.out.println("❌ Email " + customer.getEmail() + " is already registered");
+            LOG.warn("❌ Email {} is already registered", customer.getEmail());
             return false;
         }
 
-        customerRepository.save(customer);
-        System.out.println("✅ Customer registered successfully: " + customer);
+        try {
+            customerRepository.save(customer);
+        } catch (IllegalArgumentException e) {
+            // Another registration claimed the email after the check above
+            LOG.warn("❌ Email {} is already registered", customer.getEmail());
+            return false;
+        }
+        // Rendered now: the customer may be updated before the log writer gets to it
+        LOG.info("✅ Customer registered successfully: {}", customer.toString());
         return true;
     }
 
+    /**
+     * Registers a batch of customers with one summary line instead of one line per record.
+     * Field validation runs in parallel; id and email uniqueness are then checked against
+     * the repository indexes and the earlier records of the batch. Accepted customers are
+     * saved with one saveAll; on a thread-safe repository they are saved one by one instead,
+     * so a record whose email is claimed concurrently is rejected alone.
+     */
+    public BulkImportResult importCustomers(Collection<? extends Customer> batch) {
+        List<Customer> records = new ArrayList<>(batch);
+        String[] fieldErrors = new String[records.size()];
+        IntStream.range(0, records.size()).parallel().forEach(i -> {
+            Customer customer = records.get(i);
+            if (!customerValidator.validateCustomer(customer)) {
+                fieldErrors[i] = customerValidator.getValidationErrors(customer).trim();
+            }
+        });
+
+        List<Customer> accepted = new ArrayList<>(records.size());
+        List<String> rejections = new ArrayList<>();
+        Set<String> batchIds = new HashSet<>();
+        Set<String> batchEmails = new HashSet<>();
+        for (int i = 0; i < records.size(); i++) {
+            Customer customer = records.get(i);
+            String customerId = customer.getCustomerId();
+            String emailKey = CustomerRepository.normalizeEmail(customer.getEmail());
+            if (fieldErrors[i] != null) {
+                rejections.add(customerId + ": validation failed: " + fieldErrors[i]);
+            } else if (customerRepository.existsById(customerId) || batchIds.contains(customerId)) {
+                rejections.add(customerId + ": customer with this ID already exists");
+            } else if (customerRepository.emailExists(customer.getEmail())
+                       || batchEmails.contains(emailKey)) {
+                rejections.add(customerId + ": email " + customer.getEmail() + " is already registered");
+            } else {
+                batchIds.add(customerId);
+                batchEmails.add(emailKey);
+                accepted.add(customer);
+            }
+        }
+
+        int imported = 0;
+        if (!customerRepository.isThreadSafe()) {
+            // Nothing can claim an email between the checks above and the save, so the batch goes in whole
+            customerRepository.saveAll(accepted);
+            imported = accepted.size();
+        } else {
+            for (Customer customer : accepted) {
+                try {
+                    customerRepository.save(customer);
+                    imported++;
+                } catch (IllegalArgumentException e) {
+                    rejections.add(customer.getCustomerId() + ": email " + customer.getEmail() + " is already registered");
+                }
+            }
+        }
+        BulkImportResult result = new BulkImportResult(imported, rejections);
+        if (result.isComplete()) {
+            LOG.info("✅ Imported {} customers, rejected {}", result.getImportedCount(), result.getRejectedCount());
+        } else {
+            LOG.warn("⚠️ Imported {} customers, rejected {}", result.getImportedCount(), result.getRejectedCount());
+        }
+        return result;
+    }
+
+    /**
+     * True if the underlying repository may be used from several threads at once
+     */
+    public boolean isThreadSafe() {
+        return customerRepository.isThreadSafe();
+    }
+
     public Optional<Customer> getCustomer(String customerId) {
         return customerRepository.findById(customerId);
     }
@@ -52,6 +137,13 @@ public class CustomerService {
         return customerRepository.findAll();
     }
 
+    /**
+     * One page of customers in id order; pass null for the first page, then the previous page's next cursor
+     */
+    public Page<Customer> getCustomersPage(String cursor, int pageSize) {
+        return customerRepository.findPage(cursor, pageSize);
+    }
+
     public List<Customer> getCustomersByType(String customerType) {
         return customerRepository.findByType(customerType);
     }
@@ -60,71 +152,95 @@ public class CustomerService {
         return customerRepository.searchByName(nameQuery);
     }
 
+    /**
+     * Typo-tolerant name search for support lookups, best matches first
+     */
+    public List<Customer> searchCustomers(String nameQuery, int limit) {
+        return customerRepository.searchByNameFuzzy(nameQuery, limit);
+    }
+
+    public List<Customer> getCustomersByPhone(String phone) {
+        return customerRepository.findByPhone(phone);
+    }
+
     public boolean updateCustomerInfo(String customerId, String firstName, String lastName, String email, String phone, String address) {
         Optional<Customer> customerOpt = customerRepository.findById(customerId);
         if (customerOpt.isPresent()) {
             Customer customer = customerOpt.get();
             
-            // Check if new email is unique (if different from current)
-            if (!customer.getEmail().equals(email) && customerRepository.emailExists(email)) {
-                System.out.println("❌ Email " + email + " is already registered to another customer");
+            // Validate before touching the customer, so a rejected update changes nothing
+            if (!customerValidator.validateCustomerInfo(firstName, lastName, email, phone, address)) {
+                LOG.warn("❌ Updated customer information is invalid: {}",
+                         customerValidator.getValidationErrors(firstName, lastName, email, phone, address));
                 return false;
             }
             
-            customer.setFirstName(firstName);
-            customer.setLastName(lastName);
-            customer.setEmail(email);
-            customer.setPhone(phone);
-            customer.setAddress(address);
+            // Check if new email is unique (it may already belong to this customer)
+            if (!customerRepository.isEmailAvailable(email, customerId)) {
+                LOG.warn("❌ Email {} is already registered to another customer", email);
+                return false;
+            }
             
-            if (customerValidator.validateCustomer(customer)) {
+            String[] previous = {customer.getFirstName(), customer.getLastName(), customer.getEmail(),
+                                 customer.getPhone(), customer.getAddress()};
+            applyCustomerInfo(customer, firstName, lastName, email, phone, address);
+            try {
                 customerRepository.save(customer);
-                System.out.println("✅ Customer information updated: " + customer.getFullName());
-                return true;
-            } else {
-                System.out.println("❌ Updated customer information is invalid: " + customerValidator.getValidationErrors(customer));
+            } catch (IllegalArgumentException e) {
+                // Another customer claimed the email after the check above: put the old details back
+                applyCustomerInfo(customer, previous[0], previous[1], previous[2], previous[3], previous[4]);
+                LOG.warn("❌ Email {} is already registered to another customer", email);
                 return false;
             }
+            LOG.info("✅ Customer information updated: {}", customer.getFullName());
+            return true;
         }
-        System.out.println("❌ Customer not found: " + customerId);
+        LOG.warn("❌ Customer not found: {}", customerId);
         return false;
     }
 
+    private static void applyCustomerInfo(Customer customer, String firstName, String lastName, String email,
+                                          String phone, String address) {
+        customer.setFirstName(firstName);
+        customer.setLastName(lastName);
+        customer.setEmail(email);
+        customer.setPhone(phone);
+        customer.setAddress(address);
+    }
+
     public void displayCustomerReport() {
-        List<Customer> allCustomers = customerRepository.findAll();
-        
-        System.out.println("👥 CUSTOMER REPORT");
-        System.out.println("=".repeat(40));
-        System.out.println("Total Customers: " + allCustomers.size());
+        LOG.info("👥 CUSTOMER REPORT");
+        LOG.info(SEPARATOR);
+        LOG.info("Total Customers: {}", customerRepository.getTotalCount());
         
-        System.out.println("\n📊 Customers by Type:");
-        allCustomers.stream()
-                   .collect(java.util.stream.Collectors.groupingBy(Customer::getCustomerType))
-                   .forEach((type, customers) -> 
-                       System.out.println("  " + type + ": " + customers.size() + " customers"));
+        LOG.info("\n📊 Customers by Type:");
+        customerRepository.stream()
+                   .collect(Collectors.groupingBy(Customer::getCustomerType, Collectors.counting()))
+                   .forEach((type, count) -> 
+                       LOG.info("  {}: {} customers", type, count));
         
-        System.out.println("\n🏆 Customer Benefits by Type:");
-        System.out.println("  Regular Customers: 0% discount, free shipping over $100");
-        System.out.println("  Premium Customers: 10% discount, free shipping over $50");
-        System.out.println("  Corporate Customers: 15% discount, always free shipping");
+        LOG.info("\n🏆 Customer Benefits by Type:");
+        LOG.info("  Regular Customers: 0% discount, free shipping over $100");
+        LOG.info("  Premium Customers: 10% discount, free shipping over $50");
+        LOG.info("  Corporate Customers: 15% discount, always free shipping");
     }
 
     public void displayCustomerDetails(String customerId) {
         Optional<Customer> customerOpt = customerRepository.findById(customerId);
         if (customerOpt.isPresent()) {
             Customer customer = customerOpt.get();
-            System.out.println("👤 CUSTOMER DETAILS");
-            System.out.println("=".repeat(30));
-            System.out.println("ID: " + customer.getCustomerId());
-            System.out.println("Name: " + customer.getFullName());
-            System.out.println("Email: " + customer.getEmail());
-            System.out.println("Phone: " + customer.getPhone());
-            System.out.println("Address: " + customer.getAddress());
-            System.out.println("Type: " + customer.getCustomerType());
-            System.out.println("Discount: " + customer.getDiscountPercentage() + "%");
-            System.out.println("Free Shipping Threshold: $" + (customer.isEligibleForFreeShipping(100) ? "100" : customer.isEligibleForFreeShipping(50) ? "50" : "Never"));
+            LOG.info("👤 CUSTOMER DETAILS");
+            LOG.info(DETAILS_SEPARATOR);
+            LOG.info("ID: {}", customer.getCustomerId());
+            LOG.info("Name: {}", customer.getFullName());
+            LOG.info("Email: {}", customer.getEmail());
+            LOG.info("Phone: {}", customer.getPhone());
+            LOG.info("Address: {}", customer.getAddress());
+            LOG.info("Type: {}", customer.getCustomerType());
+            LOG.info("Discount: {}%", customer.getDiscountPercentage());
+            LOG.info("Free Shipping Threshold: ${}", customer.isEligibleForFreeShipping(100) ? "100" : customer.isEligibleForFreeShipping(50) ? "50" : "Never");
         } else {
-            System.out.println("❌ Customer not found: " + customerId);
+            LOG.warn("❌ Customer not found: {}", customerId);
         }
     }
 }
\ No newline at end of file
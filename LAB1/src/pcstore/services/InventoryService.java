@@ -0,0 +1,243 @@
+package pcstore.services;
+
+import pcstore.logging.Logger;
+import pcstore.logging.Logging;
+import pcstore.models.Order;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * InventoryService (SRP: Only responsible for stock reservations)
+ * Adding an item to an order takes the stock right away with a compare-and-set on the
+ * product's counter and records a hold for that order. Processing the order turns its
+ * holds into a sale; removing the item, cancelling or deleting the order, or letting the
+ * hold expire, puts the stock back. OrderService only reserves for PENDING orders, the
+ * only ones whose holds are later confirmed.
+ *
+ * Expired holds are swept in the background, four times per hold time, so an abandoned
+ * cart's stock is back in stock within a quarter of the hold time after it expires,
+ * whether or not another checkout comes up short first. close() stops the sweep.
+ *
+ * No global lock is taken: stock moves by CAS per product, and each order's holds are
+ * updated atomically through the reservation map's per-key compute. Use a concurrent
+ * product repository when checkouts run on several threads.
+ */
+public class InventoryService implements AutoCloseable {
+    private static final Logger LOG = Logging.getLogger(InventoryService.class);
+    private static final Duration DEFAULT_HOLD_TIME = Duration.ofMinutes(30);
+    private static final int SWEEPS_PER_HOLD_TIME = 4;
+    private static final long MIN_SWEEP_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    // One daemon thread sweeps the expired holds of every InventoryService
+    private static final ScheduledExecutorService SWEEPER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "inventory-hold-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ProductService productService;
+    private final long holdNanos;
+    private final ScheduledFuture<?> sweep;
+
+    // Order id -> product id -> hold; inner maps are only touched inside compute for their order
+    private final Map<String, Map<String, Reservation>> reservations = new ConcurrentHashMap<>();
+
+    public InventoryService(ProductService productService) {
+        this(productService, DEFAULT_HOLD_TIME);
+    }
+
+    public InventoryService(ProductService productService, Duration holdTime) {
+        this.productService = productService;
+        this.holdNanos = holdTime.toNanos();
+        this.sweep = scheduleSweep(this, Math.max(MIN_SWEEP_INTERVAL_NANOS, holdNanos / SWEEPS_PER_HOLD_TIME));
+    }
+
+    /**
+     * Stops the background sweep; expired holds are then only freed when a reservation comes up short
+     */
+    @Override
+    public void close() {
+        sweep.cancel(false);
+    }
+
+    // The task holds the service weakly, so a service that is never closed can still be collected
+    private static ScheduledFuture<?> scheduleSweep(InventoryService service, long intervalNanos) {
+        WeakReference<InventoryService> target = new WeakReference<>(service);
+        AtomicReference<ScheduledFuture<?>> self = new AtomicReference<>();
+        self.set(SWEEPER.scheduleWithFixedDelay(() -> {
+            InventoryService live = target.get();
+            if (live == null) {
+                Optional.ofNullable(self.get()).ifPresent(task -> task.cancel(false));
+                return;
+            }
+            try {
+                live.releaseExpired();
+            } catch (RuntimeException e) {
+                // An exception would cancel the schedule; log it and sweep again next time
+                LOG.error("❌ Sweeping expired stock holds failed: {}", e.toString());
+            }
+        }, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS));
+        return self.get();
+    }
+
+    /**
+     * Takes stock for an order and holds it until the order is processed or the hold expires.
+     * Adding the same product again extends the hold. Returns false if not enough stock is left.
+     */
+    public boolean reserve(String orderId, String productId, int quantity) {
+        if (quantity <= 0) {
+            return false;
+        }
+        if (!productService.takeStock(productId, quantity)) {
+            // The shortfall may be held by abandoned orders; free expired holds and try once more
+            if (releaseExpired() == 0 || !productService.takeStock(productId, quantity)) {
+                return false;
+            }
+        }
+        Reservation hold = new Reservation(quantity, System.nanoTime() + holdNanos);
+        reservations.compute(orderId, (id, held) -> {
+            Map<String, Reservation> orderHolds = held != null ? held : new HashMap<>();
+            orderHolds.merge(productId, hold, Reservation::plus);
+            return orderHolds;
+        });
+        return true;
+    }
+
+    /**
+     * Drops an order's hold on a product and returns the stock; returns the quantity released
+     */
+    public int release(String orderId, String productId) {
+        int[] released = new int[1];
+        reservations.computeIfPresent(orderId, (id, held) -> {
+            Reservation hold = held.remove(productId);
+            if (hold != null) {
+                released[0] = hold.quantity;
+            }
+            return held.isEmpty() ? null : held;
+        });
+        if (released[0] > 0) {
+            productService.returnStock(productId, released[0]);
+        }
+        return released[0];
+    }
+
+    /**
+     * Drops every hold of an order (when it is cancelled or deleted) and returns the stock
+     */
+    public void releaseAll(String orderId) {
+        Map<String, Reservation> held = reservations.remove(orderId);
+        if (held != null) {
+            held.forEach((productId, hold) -> productService.returnStock(productId, hold.quantity));
+        }
+    }
+
+    /**
+     * Returns the stock of every expired hold; returns how many holds were released
+     */
+    public int releaseExpired() {
+        long now = System.nanoTime();
+        int released = 0;
+        for (String orderId : reservations.keySet()) {
+            Map<String, Reservation> expired = new HashMap<>();
+            reservations.computeIfPresent(orderId, (id, held) -> {
+                held.entrySet().removeIf(entry -> {
+                    if (entry.getValue().isExpired(now)) {
+                        expired.put(entry.getKey(), entry.getValue());
+                        return true;
+                    }
+                    return false;
+                });
+                return held.isEmpty() ? null : held;
+            });
+            for (Map.Entry<String, Reservation> entry : expired.entrySet()) {
+                productService.returnStock(entry.getKey(), entry.getValue().quantity);
+                released++;
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Turns an order's holds into a sale: the held stock stays taken and the holds are dropped.
+     * Items whose hold expired are reserved again first; if that fails, stock taken by this
+     * call is put back, the order keeps its remaining holds, and false is returned.
+     */
+    public boolean confirm(String orderId, List<Order.OrderItem> items) {
+        Map<String, Integer> needed = new HashMap<>();
+        for (Order.OrderItem item : items) {
+            needed.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        Map<String, Reservation> held = reservations.remove(orderId);
+        Map<String, Reservation> holds = held != null ? held : new HashMap<>();
+
+        Map<String, Integer> taken = new HashMap<>();
+        for (Map.Entry<String, Integer> item : needed.entrySet()) {
+            Reservation hold = holds.get(item.getKey());
+            int shortfall = item.getValue() - (hold == null ? 0 : hold.quantity);
+            if (shortfall <= 0) {
+                continue;
+            }
+            if (!productService.takeStock(item.getKey(), shortfall)) {
+                taken.forEach(productService::returnStock);
+                if (!holds.isEmpty()) {
+                    reservations.merge(orderId, holds, (current, restored) -> {
+                        restored.forEach((productId, restoredHold) -> current.merge(productId, restoredHold, Reservation::plus));
+                        return current;
+                    });
+                }
+                return false;
+            }
+            taken.put(item.getKey(), shortfall);
+        }
+
+        // Holds for items that were since reduced or removed give their excess back
+        holds.forEach((productId, hold) -> {
+            int excess = hold.quantity - needed.getOrDefault(productId, 0);
+            if (excess > 0) {
+                productService.returnStock(productId, excess);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Quantity of a product currently held by an order
+     */
+    public int getReservedQuantity(String orderId, String productId) {
+        int[] quantity = new int[1];
+        reservations.computeIfPresent(orderId, (id, held) -> {
+            Reservation hold = held.get(productId);
+            quantity[0] = hold == null ? 0 : hold.quantity;
+            return held;
+        });
+        return quantity[0];
+    }
+
+    /**
+     * One order's hold on one product: the quantity taken from stock and when it lapses
+     */
+    private static final class Reservation {
+        final int quantity;
+        final long expiresAtNanos;
+
+        Reservation(int quantity, long expiresAtNanos) {
+            this.quantity = quantity;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        Reservation plus(Reservation other) {
+            return new Reservation(quantity + other.quantity, Math.max(expiresAtNanos, other.expiresAtNanos));
+        }
+
+        boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos > 0;
+        }
+    }
+}
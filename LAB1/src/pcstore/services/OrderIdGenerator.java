@@ -0,0 +1,91 @@
+package pcstore.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * OrderIdGenerator (SRP: Only responsible for issuing unique order ids)
+ * Each id packs, from the most significant bits down:
+ * 41 bits of milliseconds since 2024-01-01 UTC, a 10-bit node id and a 12-bit sequence.
+ *
+ * Lock-free: the (time, sequence) pair lives in one AtomicLong advanced by compare-and-set,
+ * so ids from one generator are strictly increasing even when the clock stalls or steps
+ * back (the sequence then borrows from the next millisecond). Generators on different
+ * store instances stay collision-free as long as each gets its own node id.
+ *
+ * Ids are rendered as "ORD" plus 13 fixed-width base-36 digits, so string order equals
+ * creation order and ids can key time-ordered storage directly.
+ */
+public class OrderIdGenerator {
+    public static final String PREFIX = "ORD";
+
+    private static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int DIGITS = 13; // Long.MAX_VALUE needs 13 base-36 digits
+    private static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    private final long nodeBits;
+    private final LongSupplier clockMillis;
+    // (milliseconds since EPOCH_MILLIS << SEQUENCE_BITS) | sequence of the last issued id
+    private final AtomicLong lastTimeAndSequence = new AtomicLong();
+
+    public OrderIdGenerator() {
+        this(0);
+    }
+
+    /**
+     * @param nodeId 0-1023, unique per store instance sharing an order id space
+     */
+    public OrderIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clockMillis source of the current time in epoch milliseconds; tests pass one that steps back
+     */
+    public OrderIdGenerator(int nodeId, LongSupplier clockMillis) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clockMillis = clockMillis;
+    }
+
+    public String nextId() {
+        long now = (clockMillis.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long last;
+        long next;
+        do {
+            last = lastTimeAndSequence.get();
+            next = Math.max(now, last + 1);
+        } while (!lastTimeAndSequence.compareAndSet(last, next));
+
+        long millis = next >>> SEQUENCE_BITS;
+        long id = (millis << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+        return format(id);
+    }
+
+    /**
+     * Creation time (epoch milliseconds) encoded in an id issued by any generator
+     */
+    public static long timestampOf(String orderId) {
+        if (orderId == null || orderId.length() != PREFIX.length() + DIGITS || !orderId.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Not a generated order id: " + orderId);
+        }
+        long id = Long.parseLong(orderId.substring(PREFIX.length()), Character.MAX_RADIX);
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    private static String format(long id) {
+        char[] text = new char[PREFIX.length() + DIGITS];
+        PREFIX.getChars(0, PREFIX.length(), text, 0);
+        for (int i = text.length - 1; i >= PREFIX.length(); i--) {
+            text[i] = ALPHABET[(int) (id % Character.MAX_RADIX)];
+            id /= Character.MAX_RADIX;
+        }
+        return new String(text);
+    }
+}
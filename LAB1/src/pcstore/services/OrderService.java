@@ -1,30 +1,52 @@
 package pcstore.services;
 
+import pcstore.logging.LogLevel;
+import pcstore.logging.Logger;
+import pcstore.logging.Logging;
 import pcstore.models.*;
 import pcstore.repositories.OrderRepository;
+import pcstore.repositories.Page;
 import pcstore.pricing.*;
+import pcstore.pricing.rules.PricingRule;
 import pcstore.shipping.*;
-import java.math.BigDecimal;
-import java.util.List;
-import java.util.Optional;
-import java.util.Arrays;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * OrderService (SRP: Only responsible for order business logic)
  * Demonstrates Single Responsibility Principle
  */
 public class OrderService {
+    private static final Logger LOG = Logging.getLogger(OrderService.class);
+    private static final String SEPARATOR = "=".repeat(40);
+
     private final OrderRepository orderRepository;
     private final ProductService productService;
     private final CustomerService customerService;
+    private final InventoryService inventoryService;
     private final List<PricingStrategy> availablePricingStrategies;
+    private final PricingEvaluator pricingEvaluator;
     private final List<ShippingCalculator> availableShippingOptions;
-    private int orderCounter = 1;
+    private final ShippingQuoteEngine shippingQuoteEngine;
+    private final OrderIdGenerator orderIdGenerator;
 
     public OrderService(OrderRepository orderRepository, ProductService productService, CustomerService customerService) {
+        this(orderRepository, productService, customerService, new InventoryService(productService));
+    }
+
+    public OrderService(OrderRepository orderRepository, ProductService productService, CustomerService customerService,
+                        InventoryService inventoryService) {
+        this(orderRepository, productService, customerService, inventoryService, new OrderIdGenerator());
+    }
+
+    public OrderService(OrderRepository orderRepository, ProductService productService, CustomerService customerService,
+                        InventoryService inventoryService, OrderIdGenerator orderIdGenerator) {
         this.orderRepository = orderRepository;
         this.productService = productService;
         this.customerService = customerService;
+        this.inventoryService = inventoryService;
+        this.orderIdGenerator = orderIdGenerator;
         
         // OCP: Extensible pricing strategies
         this.availablePricingStrategies = Arrays.asList(
@@ -32,6 +54,7 @@ public class OrderService {
             new BulkPricingStrategy(),
             new PromotionalPricingStrategy(15.0, "Holiday Special")
         );
+        this.pricingEvaluator = new PricingEvaluator(availablePricingStrategies);
         
         // OCP & LSP: Extensible and substitutable shipping options
         this.availableShippingOptions = Arrays.asList(
@@ -39,21 +62,25 @@ public class OrderService {
             new ExpressShipping(),
             new OvernightShipping()
         );
+        this.shippingQuoteEngine = new ShippingQuoteEngine(availableShippingOptions);
     }
 
-    public boolean createOrder(String customerId, String shippingAddress) {
+    /**
+     * Creates an empty order and returns its id, or empty if the customer does not exist
+     */
+    public Optional<String> createOrder(String customerId, String shippingAddress) {
         Optional<Customer> customerOpt = customerService.getCustomer(customerId);
         if (customerOpt.isEmpty()) {
-            System.out.println("❌ Customer not found: " + customerId);
-            return false;
+            LOG.warn("❌ Customer not found: {}", customerId);
+            return Optional.empty();
         }
 
-        String orderId = "ORD" + String.format("%03d", orderCounter++);
+        String orderId = orderIdGenerator.nextId();
         Order order = new Order(orderId, customerId, shippingAddress);
         orderRepository.save(order);
         
-        System.out.println("✅ Order created: " + orderId + " for customer " + customerId);
-        return true;
+        LOG.info("✅ Order created: {} for customer {}", orderId, customerId);
+        return Optional.of(orderId);
     }
 
     public boolean addItemToOrder(String orderId, String productId, int quantity) {
@@ -61,173 +88,341 @@ public class OrderService {
         Optional<Product> productOpt = productService.getProduct(productId);
         
         if (orderOpt.isEmpty()) {
-            System.out.println("❌ Order not found: " + orderId);
+            LOG.warn("❌ Order not found: {}", orderId);
             return false;
         }
         
         if (productOpt.isEmpty()) {
-            System.out.println("❌ Product not found: " + productId);
+            LOG.warn("❌ Product not found: {}", productId);
             return false;
         }
         
         Order order = orderOpt.get();
         Product product = productOpt.get();
         
-        if (!productService.isProductAvailable(productId, quantity)) {
-            System.out.println("❌ Insufficient stock for product: " + product.getName() + " (Requested: " + quantity + ", Available: " + product.getStockQuantity() + ")");
+        // Holds are only ever confirmed by processing a PENDING order; a hold taken for any
+        // other order would expire and hand back stock the order still lists
+        if (order.getStatus() != Order.OrderStatus.PENDING) {
+            LOG.warn("❌ Order {} is {}, items can only be added while it is PENDING", orderId, order.getStatus());
             return false;
         }
         
+        // Check and decrement in one atomic step, so concurrent checkouts cannot oversell
+        if (!inventoryService.reserve(orderId, productId, quantity)) {
+            LOG.warn("❌ Insufficient stock for product: {} (Requested: {}, Available: {})",
+                     product.getName(), quantity, product.getStockQuantity());
+            return false;
+        }
+        LOG.info("✅ Reserved stock for product: {} (Remaining stock: {})", product.getName(), product.getStockQuantity());
+        
         order.addItem(product, quantity);
         orderRepository.save(order);
         
-        // Reduce stock
-        productService.updateStock(productId, product.getStockQuantity() - quantity);
+        LOG.info("✅ Added {}x {} to order {}", quantity, product.getName(), orderId);
+        return true;
+    }
+
+    public boolean removeItemFromOrder(String orderId, String productId) {
+        Optional<Order> orderOpt = orderRepository.findById(orderId);
+        if (orderOpt.isEmpty()) {
+            LOG.warn("❌ Order not found: {}", orderId);
+            return false;
+        }
         
-        System.out.println("✅ Added " + quantity + "x " + product.getName() + " to order " + orderId);
+        Order order = orderOpt.get();
+        if (order.getStatus() != Order.OrderStatus.PENDING) {
+            LOG.warn("❌ Order {} is {}, items can only be removed while it is PENDING", orderId, order.getStatus());
+            return false;
+        }
+        if (order.getItems().stream().noneMatch(item -> item.getProductId().equals(productId))) {
+            LOG.warn("❌ Product {} is not in order {}", productId, orderId);
+            return false;
+        }
+        
+        order.removeItem(productId);
+        orderRepository.save(order);
+        int released = inventoryService.release(orderId, productId);
+        
+        LOG.info("✅ Removed {} from order {} (Released stock: {})", productId, orderId, released);
         return true;
     }
 
     public boolean processOrder(String orderId) {
+        Confirmation confirmation = confirmOrder(orderId);
+        if (confirmation.failure != null) {
+            LOG.warn("❌ {}: {}", confirmation.failure, orderId);
+            return false;
+        }
+        
+        LOG.info("✅ Order processed successfully: {}", orderId);
+        displayOrderSummary(confirmation.order, confirmation.customer, confirmation.pricing, confirmation.shipping);
+        
+        return true;
+    }
+
+    /**
+     * Confirms a batch of orders without printing per-order summaries. Work is split across
+     * the common fork/join pool only when the order, product and customer repositories are
+     * all thread-safe (the Concurrent* variants), since confirming an order also moves stock
+     * and reads the customer; otherwise, as with the plain repositories PCStoreApplication
+     * wires up, the batch runs on the calling thread. Each order succeeds or fails on its
+     * own; orders that are no longer PENDING are reported as failures instead of being
+     * processed again.
+     */
+    public BatchProcessingResult processOrders(Collection<String> orderIds) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(orderIds));
+        Confirmation[] confirmations = new Confirmation[ids.size()];
+        if (canConfirmInParallel()) {
+            ForkJoinPool.commonPool().invoke(new BatchConfirmation(ids, confirmations, 0, ids.size()));
+        } else {
+            for (int i = 0; i < ids.size(); i++) {
+                confirmations[i] = confirmPending(ids.get(i));
+            }
+        }
+        
+        int confirmed = 0;
+        long confirmedCents = 0;
+        Map<String, String> failures = new LinkedHashMap<>();
+        for (int i = 0; i < confirmations.length; i++) {
+            Confirmation confirmation = confirmations[i];
+            if (confirmation.failure == null) {
+                confirmed++;
+                confirmedCents += confirmation.order.getTotal().getCents();
+            } else {
+                failures.put(ids.get(i), confirmation.failure);
+            }
+        }
+        return new BatchProcessingResult(confirmed, Money.ofCents(confirmedCents), failures);
+    }
+
+    /**
+     * True if processOrders may confirm orders on several threads at once
+     */
+    public boolean canConfirmInParallel() {
+        return orderRepository.isThreadSafe() && productService.isThreadSafe() && customerService.isThreadSafe();
+    }
+
+    private Confirmation confirmPending(String orderId) {
+        try {
+            Optional<Order> orderOpt = orderRepository.findById(orderId);
+            if (orderOpt.isPresent() && orderOpt.get().getStatus() != Order.OrderStatus.PENDING) {
+                return Confirmation.failed("Order is " + orderOpt.get().getStatus() + ", not PENDING");
+            }
+            return confirmOrder(orderId);
+        } catch (RuntimeException e) {
+            // One bad order must not abort the rest of the batch
+            return Confirmation.failed("Processing error: " + e);
+        }
+    }
+
+    /**
+     * Prices, ships and confirms one order; the console-free core of processOrder
+     */
+    private Confirmation confirmOrder(String orderId) {
         Optional<Order> orderOpt = orderRepository.findById(orderId);
         if (orderOpt.isEmpty()) {
-            System.out.println("❌ Order not found: " + orderId);
-            return false;
+            return Confirmation.failed("Order not found");
         }
         
         Order order = orderOpt.get();
         Optional<Customer> customerOpt = customerService.getCustomer(order.getCustomerId());
         
         if (customerOpt.isEmpty()) {
-            System.out.println("❌ Customer not found for order: " + orderId);
-            return false;
+            return Confirmation.failed("Customer not found for order");
         }
         
         Customer customer = customerOpt.get();
         
-        // Apply best pricing strategy (OCP: using different strategies)
-        PricingStrategy bestStrategy = findBestPricingStrategy(order, customer);
-        applyPricing(order, customer, bestStrategy);
+        // Turn the stock holds into a sale; holds that expired are taken again if stock allows
+        if (order.getStatus() == Order.OrderStatus.PENDING
+                && !inventoryService.confirm(orderId, order.getItems())) {
+            return Confirmation.failed("Insufficient stock to confirm order");
+        }
+        
+        // Apply best pricing strategy (OCP: all strategies priced in one pass, winner's total reused)
+        PricingEvaluator.Result pricing = pricingEvaluator.evaluate(resolveLines(order), customer);
+        PricingStrategy bestStrategy = pricing.getBestStrategy();
+        applyPricing(order, pricing.getBestTotal());
         
         // Calculate shipping (LSP: any shipping calculator can be used)
-        ShippingCalculator shippingCalculator = findBestShippingOption(customer);
-        applyShipping(order, customer, shippingCalculator);
+        ShippingCalculator shippingCalculator = applyShipping(order, customer);
         
-        order.updateStatus(Order.OrderStatus.CONFIRMED);
         orderRepository.save(order);
+        order.updateStatus(Order.OrderStatus.CONFIRMED);
         
-        System.out.println("✅ Order processed successfully: " + orderId);
-        displayOrderSummary(order, customer, bestStrategy, shippingCalculator);
-        
-        return true;
+        return new Confirmation(order, customer, bestStrategy, shippingCalculator, null);
     }
 
-    private PricingStrategy findBestPricingStrategy(Order order, Customer customer) {
-        // Find the strategy that gives the best price
-        PricingStrategy bestStrategy = availablePricingStrategies.get(0);
-        BigDecimal bestTotal = BigDecimal.valueOf(Double.MAX_VALUE);
-        
-        for (PricingStrategy strategy : availablePricingStrategies) {
-            BigDecimal total = calculateOrderTotal(order, customer, strategy);
-            if (total.compareTo(bestTotal) < 0) {
-                bestTotal = total;
-                bestStrategy = strategy;
-            }
+    /**
+     * Looks up each line's product once, for every strategy the evaluator tries
+     */
+    private List<PricingEvaluator.Line> resolveLines(Order order) {
+        List<Order.OrderItem> items = order.getItems();
+        List<PricingEvaluator.Line> lines = new ArrayList<>(items.size());
+        for (Order.OrderItem item : items) {
+            lines.add(new PricingEvaluator.Line(productService.getProduct(item.getProductId()).orElse(null),
+                                                item.getQuantity()));
         }
-        
-        return bestStrategy;
+        return lines;
     }
 
-    private BigDecimal calculateOrderTotal(Order order, Customer customer, PricingStrategy strategy) {
-        return order.getItems().stream()
-                   .map(item -> {
-                       Optional<Product> productOpt = productService.getProduct(item.getProductId());
-                       if (productOpt.isPresent()) {
-                           return strategy.calculatePrice(productOpt.get(), customer, item.getQuantity());
-                       }
-                       return BigDecimal.ZERO;
-                   })
-                   .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    private void applyPricing(Order order, Customer customer, PricingStrategy strategy) {
-        BigDecimal originalTotal = order.getSubtotal();
-        BigDecimal newTotal = calculateOrderTotal(order, customer, strategy);
-        BigDecimal discount = originalTotal.subtract(newTotal);
+    private void applyPricing(Order order, Money newTotal) {
+        Money originalTotal = order.getSubtotal();
+        Money discount = originalTotal.minus(newTotal);
         
         order.applyDiscount(discount);
     }
 
-    private ShippingCalculator findBestShippingOption(Customer customer) {
-        // Find the most premium shipping option available to the customer
-        for (ShippingCalculator shipping : availableShippingOptions) {
-            if (shipping.isAvailableForCustomer(customer)) {
-                return shipping;
-            }
-        }
-        return availableShippingOptions.get(0); // Default to standard shipping
+    private ShippingCalculator applyShipping(Order order, Customer customer) {
+        // Take the first shipping option available to the customer from the precomputed quote
+        ShippingQuote.Option shipping = quoteShipping(order, customer).getPreferred();
+        order.setShippingCost(shipping.getCost());
+        return shipping.getCalculator();
     }
 
-    private void applyShipping(Order order, Customer customer, ShippingCalculator shippingCalculator) {
-        BigDecimal shippingCost = shippingCalculator.calculateShippingCost(
-            customer, order.getSubtotal().doubleValue(), 2.5); // Assume 2.5kg average weight
-        order.setShippingCost(shippingCost);
+    private ShippingQuote quoteShipping(Order order, Customer customer) {
+        return shippingQuoteEngine.quote(
+            customer, order.getSubtotal().getCents(), 2.5); // Assume 2.5kg average weight
     }
 
     private void displayOrderSummary(Order order, Customer customer, PricingStrategy pricing, ShippingCalculator shipping) {
-        System.out.println("\n📋 ORDER SUMMARY");
-        System.out.println("=" .repeat(40));
-        System.out.println("Order ID: " + order.getOrderId());
-        System.out.println("Customer: " + customer.getFullName() + " (" + customer.getCustomerType() + ")");
-        System.out.println("Pricing Strategy: " + pricing.getStrategyName());
-        System.out.println("Shipping Method: " + shipping.getShippingMethod());
-        System.out.println("Items:");
+        // One event per line, each only enqueued here; nothing is formatted on this thread
+        if (!LOG.isEnabled(LogLevel.INFO)) {
+            return;
+        }
+        LOG.info("\n📋 ORDER SUMMARY");
+        LOG.info(SEPARATOR);
+        LOG.info("Order ID: {}", order.getOrderId());
+        LOG.info("Customer: {} {} ({})", customer.getFirstName(), customer.getLastName(), customer.getCustomerType());
+        LOG.info("Pricing Strategy: {}", pricing.getStrategyName());
+        LOG.info("Shipping Method: {}", shipping.getShippingMethod());
+        LOG.info("Items:");
         
         for (Order.OrderItem item : order.getItems()) {
-            System.out.printf("  - %s x%d @ $%.2f each = $%.2f%n", 
+            LOG.info("  - {} x{} @ {} each = {}", 
                 item.getProductName(), item.getQuantity(), item.getUnitPrice(), item.getTotalPrice());
         }
         
-        System.out.printf("Subtotal: $%.2f%n", order.getSubtotal());
-        System.out.printf("Discount: -$%.2f%n", order.getDiscountAmount());
-        System.out.printf("Shipping: $%.2f%n", order.getShippingCost());
-        System.out.printf("TOTAL: $%.2f%n", order.getTotal());
-        System.out.println("=" .repeat(40));
+        LOG.info("Subtotal: {}", order.getSubtotal());
+        LOG.info("Discount: -{}", order.getDiscountAmount());
+        LOG.info("Shipping: {}", order.getShippingCost());
+        LOG.info("TOTAL: {}", order.getTotal());
+        LOG.info(SEPARATOR);
+    }
+
+    /**
+     * Swaps the rules of a rule-based pricing strategy while orders keep being priced
+     */
+    public boolean reloadPricingRules(String strategyName, List<PricingRule> rules) {
+        for (PricingStrategy strategy : availablePricingStrategies) {
+            if (strategy.getStrategyName().equals(strategyName) && strategy instanceof RuleBasedPricingStrategy) {
+                try {
+                    ((RuleBasedPricingStrategy) strategy).reload(rules);
+                } catch (IllegalArgumentException e) {
+                    LOG.warn("❌ Pricing rules rejected for {}: {}", strategyName, e.getMessage());
+                    return false;
+                }
+                LOG.info("✅ Reloaded {} pricing rules for {}", rules.size(), strategyName);
+                return true;
+            }
+        }
+        LOG.warn("❌ No rule-based pricing strategy named: {}", strategyName);
+        return false;
+    }
+
+    /**
+     * Moves an order to a new status; cancelling gives back the stock its holds still take
+     * (stock of an order that was already processed stays sold)
+     */
+    public boolean updateOrderStatus(String orderId, Order.OrderStatus status) {
+        if (!orderRepository.updateStatus(orderId, status)) {
+            LOG.warn("❌ Order not found: {}", orderId);
+            return false;
+        }
+        if (status == Order.OrderStatus.CANCELLED) {
+            inventoryService.releaseAll(orderId);
+        }
+        LOG.info("✅ Order {} is now {}", orderId, status);
+        return true;
+    }
+
+    /**
+     * Deletes an order and gives back the stock its holds still take
+     */
+    public boolean deleteOrder(String orderId) {
+        if (!orderRepository.deleteById(orderId)) {
+            LOG.warn("❌ Order not found: {}", orderId);
+            return false;
+        }
+        inventoryService.releaseAll(orderId);
+        LOG.info("✅ Order deleted: {}", orderId);
+        return true;
     }
 
     public Optional<Order> getOrder(String orderId) {
         return orderRepository.findById(orderId);
     }
 
+    /**
+     * Every shipping option the order's customer can choose, with its cost, for checkout
+     */
+    public Optional<ShippingQuote> getShippingQuote(String orderId) {
+        return orderRepository.findById(orderId).flatMap(order ->
+            customerService.getCustomer(order.getCustomerId()).map(customer -> quoteShipping(order, customer)));
+    }
+
     public List<Order> getOrdersByCustomer(String customerId) {
         return orderRepository.findByCustomerId(customerId);
     }
 
+    public long getOrderCountByCustomer(String customerId) {
+        return orderRepository.getCountByCustomer(customerId);
+    }
+
+    public boolean isEligibleForPremiumUpgrade(String customerId) {
+        Optional<Customer> customerOpt = customerService.getCustomer(customerId);
+        if (customerOpt.isEmpty() || !(customerOpt.get() instanceof RegularCustomer)) {
+            return false;
+        }
+        int orderCount = (int) Math.min(Integer.MAX_VALUE, orderRepository.getCountByCustomer(customerId));
+        return ((RegularCustomer) customerOpt.get()).canUpgradeToPremium(orderCount);
+    }
+
     public List<Order> getAllOrders() {
         return orderRepository.findAll();
     }
 
+    /**
+     * One page of orders in id order; pass null for the first page, then the previous page's next cursor
+     */
+    public Page<Order> getOrdersPage(String cursor, int pageSize) {
+        return orderRepository.findPage(cursor, pageSize);
+    }
+
+    public List<Order> getRecentOrders(int days, int limit) {
+        return orderRepository.findRecentOrders(days, limit);
+    }
+
     public void displayOrderReport() {
-        List<Order> allOrders = orderRepository.findAll();
+        int totalOrders = orderRepository.getTotalCount();
         
-        System.out.println("📦 ORDER REPORT");
-        System.out.println("=".repeat(40));
-        System.out.println("Total Orders: " + allOrders.size());
-        System.out.printf("Total Revenue: $%.2f%n", orderRepository.getTotalRevenue());
+        LOG.info("📦 ORDER REPORT");
+        LOG.info(SEPARATOR);
+        LOG.info("Total Orders: {}", totalOrders);
+        LOG.info("Total Revenue: {}", orderRepository.getTotalRevenueAmount());
         
-        System.out.println("\n📊 Orders by Status:");
+        LOG.info("\n📊 Orders by Status:");
         for (Order.OrderStatus status : Order.OrderStatus.values()) {
             long count = orderRepository.getCountByStatus(status);
             if (count > 0) {
-                System.out.println("  " + status + ": " + count + " orders");
+                LOG.info("  {}: {} orders", status, count);
             }
         }
         
-        if (!allOrders.isEmpty()) {
-            System.out.println("\n📋 Recent Orders:");
-            allOrders.stream()
-                    .limit(3)
-                    .forEach(order -> System.out.println("  " + order));
+        if (totalOrders > 0) {
+            LOG.info("\n📋 Recent Orders:");
+            orderRepository.findLatest(3)
+                    .forEach(order -> LOG.info("  {}", order.toString()));
         }
     }
 
@@ -235,10 +430,66 @@ public class OrderService {
     public void initializeSampleOrders() {
         // This method would be called after setting up products and customers
         if (orderRepository.getTotalCount() > 0) {
-            // Process the first few orders for demonstration
-            processOrder("ORD001");
-            processOrder("ORD002");
-            processOrder("ORD003");
+            // Process the first few orders for demonstration (generated ids sort by creation time)
+            orderRepository.findPage(null, 3).getItems()
+                    .forEach(order -> processOrder(order.getOrderId()));
+        }
+    }
+
+    /**
+     * Outcome of confirming one order: what was applied, or why it failed
+     */
+    private static final class Confirmation {
+        final Order order;
+        final Customer customer;
+        final PricingStrategy pricing;
+        final ShippingCalculator shipping;
+        final String failure;
+
+        Confirmation(Order order, Customer customer, PricingStrategy pricing, ShippingCalculator shipping, String failure) {
+            this.order = order;
+            this.customer = customer;
+            this.pricing = pricing;
+            this.shipping = shipping;
+            this.failure = failure;
+        }
+
+        static Confirmation failed(String reason) {
+            return new Confirmation(null, null, null, null, reason);
+        }
+    }
+
+    /**
+     * Fork/join split of a batch: halves the id range until it is small enough to confirm directly,
+     * writing each outcome into its own slot so no result collection needs locking
+     */
+    private final class BatchConfirmation extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int SEQUENTIAL_THRESHOLD = 16;
+
+        private final List<String> ids;
+        private final Confirmation[] confirmations;
+        private final int from;
+        private final int to;
+
+        BatchConfirmation(List<String> ids, Confirmation[] confirmations, int from, int to) {
+            this.ids = ids;
+            this.confirmations = confirmations;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    confirmations[i] = confirmPending(ids.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BatchConfirmation(ids, confirmations, from, middle),
+                      new BatchConfirmation(ids, confirmations, middle, to));
         }
     }
-}
\ No newline at end of file
+}
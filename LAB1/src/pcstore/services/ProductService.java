@@ -1,17 +1,25 @@
 package pcstore.services;
 
+import pcstore.logging.Logger;
+import pcstore.logging.Logging;
 import pcstore.models.Product;
 import pcstore.repositories.ProductRepository;
+import pcstore.repositories.Page;
 import pcstore.validators.ProductValidator;
 import java.math.BigDecimal;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * ProductService (SRP: Only responsible for product business logic)
  * Demonstrates Single Responsibility Principle
  */
 public class ProductService {
+    private static final Logger LOG = Logging.getLogger(ProductService.class);
+    private static final String SEPARATOR = "=".repeat(40);
+
     private final ProductRepository productRepository;
     private final ProductValidator productValidator;
 
@@ -22,20 +30,68 @@ public class ProductService {
 
     public boolean addProduct(Product product) {
         if (!productValidator.validateProduct(product)) {
-            System.out.println("❌ Product validation failed: " + productValidator.getValidationErrors(product));
+            LOG.warn("❌ Product validation failed: {}", productValidator.getValidationErrors(product));
             return false;
         }
 
         if (productRepository.existsById(product.getProductId())) {
-            System.out.println("❌ Product with ID " + product.getProductId() + " already exists");
+            LOG.warn("❌ Product with ID {} already exists", product.getProductId());
             return false;
         }
 
         productRepository.save(product);
-        System.out.println("✅ Product added successfully: " + product);
+        // Rendered now: stock and price may change before the log writer gets to it
+        LOG.info("✅ Product added successfully: {}", product.toString());
         return true;
     }
 
+    /**
+     * Adds a batch of products with one summary line instead of one line per record.
+     * Field validation runs in parallel; ids are then checked against the repository and
+     * the earlier records of the batch, and accepted products are saved with one saveAll.
+     */
+    public BulkImportResult importProducts(Collection<? extends Product> batch) {
+        List<Product> records = new ArrayList<>(batch);
+        String[] fieldErrors = new String[records.size()];
+        IntStream.range(0, records.size()).parallel().forEach(i -> {
+            Product product = records.get(i);
+            if (!productValidator.validateProduct(product)) {
+                fieldErrors[i] = productValidator.getValidationErrors(product).trim();
+            }
+        });
+
+        List<Product> accepted = new ArrayList<>(records.size());
+        List<String> rejections = new ArrayList<>();
+        Set<String> batchIds = new HashSet<>();
+        for (int i = 0; i < records.size(); i++) {
+            Product product = records.get(i);
+            String productId = product.getProductId();
+            if (fieldErrors[i] != null) {
+                rejections.add(productId + ": validation failed: " + fieldErrors[i]);
+            } else if (productRepository.existsById(productId) || !batchIds.add(productId)) {
+                rejections.add(productId + ": product with this ID already exists");
+            } else {
+                accepted.add(product);
+            }
+        }
+
+        productRepository.saveAll(accepted);
+        BulkImportResult result = new BulkImportResult(accepted.size(), rejections);
+        if (result.isComplete()) {
+            LOG.info("✅ Imported {} products, rejected {}", result.getImportedCount(), result.getRejectedCount());
+        } else {
+            LOG.warn("⚠️ Imported {} products, rejected {}", result.getImportedCount(), result.getRejectedCount());
+        }
+        return result;
+    }
+
+    /**
+     * True if the underlying repository may be used from several threads at once
+     */
+    public boolean isThreadSafe() {
+        return productRepository.isThreadSafe();
+    }
+
     public Optional<Product> getProduct(String productId) {
         return productRepository.findById(productId);
     }
@@ -44,6 +100,13 @@ public class ProductService {
         return productRepository.findAll();
     }
 
+    /**
+     * One page of products in id order; pass null for the first page, then the previous page's next cursor
+     */
+    public Page<Product> getProductsPage(String cursor, int pageSize) {
+        return productRepository.findPage(cursor, pageSize);
+    }
+
     public List<Product> getProductsByCategory(String category) {
         return productRepository.findByCategory(category);
     }
@@ -60,33 +123,78 @@ public class ProductService {
         return productRepository.findByPriceRange(minPrice, maxPrice);
     }
 
+    public List<Product> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, int limit) {
+        return productRepository.findByPriceRange(minPrice, maxPrice, limit);
+    }
+
     public List<Product> searchProducts(String query) {
-        return productRepository.searchByName(query);
+        return productRepository.search(query, Integer.MAX_VALUE);
+    }
+
+    public List<Product> searchProducts(String query, int limit) {
+        return productRepository.search(query, limit);
     }
 
     public boolean updateProductPrice(String productId, BigDecimal newPrice) {
-        Optional<Product> productOpt = productRepository.findById(productId);
-        if (productOpt.isPresent()) {
-            Product product = productOpt.get();
-            product.setBasePrice(newPrice);
-            productRepository.save(product);
-            System.out.println("✅ Price updated for product: " + product.getName());
+        // Goes through the repository so the product is re-filed under its new price
+        if (productRepository.update(productId, product -> product.setBasePrice(newPrice))) {
+            LOG.info("✅ Price updated for product: {}", nameOf(productId));
             return true;
         }
-        System.out.println("❌ Product not found: " + productId);
+        LOG.warn("❌ Product not found: {}", productId);
         return false;
     }
 
+    /**
+     * Changes a product through its setters (name, brand, price, description and so on)
+     * and re-files it in the repository's lookups in the same step
+     */
+    public boolean updateProduct(String productId, Consumer<? super Product> change) {
+        if (productRepository.update(productId, change)) {
+            LOG.info("✅ Product updated: {}", nameOf(productId));
+            return true;
+        }
+        LOG.warn("❌ Product not found: {}", productId);
+        return false;
+    }
+
+    private String nameOf(String productId) {
+        return productRepository.findById(productId).map(Product::getName).orElse(productId);
+    }
+
+    /**
+     * Atomically takes stock for a reservation; false if the product is unknown or short
+     */
+    public boolean takeStock(String productId, int quantity) {
+        Optional<Product> productOpt = productRepository.findById(productId);
+        if (productOpt.isEmpty() || !productOpt.get().tryTakeStock(quantity)) {
+            return false;
+        }
+        productRepository.refreshStock(productId);
+        return true;
+    }
+
+    /**
+     * Atomically puts back stock taken by takeStock
+     */
+    public void returnStock(String productId, int quantity) {
+        Optional<Product> productOpt = productRepository.findById(productId);
+        if (productOpt.isPresent()) {
+            productOpt.get().addStock(quantity);
+            productRepository.refreshStock(productId);
+        }
+    }
+
     public boolean updateStock(String productId, int newStock) {
         Optional<Product> productOpt = productRepository.findById(productId);
         if (productOpt.isPresent()) {
             Product product = productOpt.get();
             product.setStockQuantity(newStock);
             productRepository.save(product);
-            System.out.println("✅ Stock updated for product: " + product.getName() + " (New stock: " + newStock + ")");
+            LOG.info("✅ Stock updated for product: {} (New stock: {})", product.getName(), newStock);
             return true;
         }
-        System.out.println("❌ Product not found: " + productId);
+        LOG.warn("❌ Product not found: {}", productId);
         return false;
     }
 
@@ -100,19 +208,19 @@ public class ProductService {
     }
 
     public void displayInventoryReport() {
-        List<Product> allProducts = productRepository.findAll();
-        List<Product> inStockProducts = productRepository.findInStock();
+        int totalProducts = productRepository.getTotalCount();
+        long inStockProducts = productRepository.getInStockCount();
         
-        System.out.println("📊 INVENTORY REPORT");
-        System.out.println("=".repeat(40));
-        System.out.println("Total Products: " + allProducts.size());
-        System.out.println("In Stock Products: " + inStockProducts.size());
-        System.out.println("Out of Stock Products: " + (allProducts.size() - inStockProducts.size()));
+        LOG.info("📊 INVENTORY REPORT");
+        LOG.info(SEPARATOR);
+        LOG.info("Total Products: {}", totalProducts);
+        LOG.info("In Stock Products: {}", inStockProducts);
+        LOG.info("Out of Stock Products: {}", totalProducts - inStockProducts);
         
-        System.out.println("\n📦 Products by Category:");
-        allProducts.stream()
-                  .collect(java.util.stream.Collectors.groupingBy(Product::getCategory))
-                  .forEach((category, products) -> 
-                      System.out.println("  " + category + ": " + products.size() + " products"));
+        LOG.info("\n📦 Products by Category:");
+        productRepository.stream()
+                  .collect(Collectors.groupingBy(Product::getCategory, Collectors.counting()))
+                  .forEach((category, count) -> 
+                      LOG.info("  {}: {} products", category, count));
     }
 }
\ No newline at end of file
@@ -3,33 +3,43 @@ package pcstore.shipping;
 import pcstore.models.Customer;
 import pcstore.models.PremiumCustomer;
 import pcstore.models.CorporateCustomer;
+import pcstore.models.Money;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 /**
  * ExpressShipping (OCP & LSP: Extension that can substitute interface)
  * Demonstrates Open/Closed Principle and Liskov Substitution Principle
  */
 public class ExpressShipping implements ShippingCalculator {
-    private static final double RATE_PER_KG = 12.0;
-    private static final double BASE_COST = 25.0;
-    private static final double PREMIUM_DISCOUNT = 0.20; // 20% discount for premium customers
+    private static final long RATE_PER_KG_CENTS = 1200;
+    private static final long BASE_COST_CENTS = 2500;
+    private static final int PREMIUM_DISCOUNT_BASIS_POINTS = 2000; // 20% discount for premium customers
 
     @Override
     public BigDecimal calculateShippingCost(Customer customer, double orderTotal, double weight) {
+        return Money.toBigDecimal(calculateShippingCents(customer, Math.round(orderTotal * 100), weight));
+    }
+
+    @Override
+    public long calculateShippingCents(Customer customer, long orderTotalCents, double weight) {
         // Corporate customers always get free express shipping
-        if (customer instanceof CorporateCustomer) {
-            return BigDecimal.ZERO;
+        if (orderTotalCents >= getFreeShippingMinimumCents(customer)) {
+            return 0;
         }
         
-        double cost = BASE_COST + (weight * RATE_PER_KG);
+        long cost = BASE_COST_CENTS + ShippingCalculator.weightChargeCents(RATE_PER_KG_CENTS, weight);
         
         // Premium customers get discount on express shipping
         if (customer instanceof PremiumCustomer) {
-            cost *= (1.0 - PREMIUM_DISCOUNT);
+            cost = Money.discounted(cost, 1, PREMIUM_DISCOUNT_BASIS_POINTS, 0);
         }
         
-        return BigDecimal.valueOf(cost).setScale(2, RoundingMode.HALF_UP);
+        return cost;
+    }
+
+    @Override
+    public long getFreeShippingMinimumCents(Customer customer) {
+        return customer instanceof CorporateCustomer ? 0 : Long.MAX_VALUE;
     }
 
     @Override
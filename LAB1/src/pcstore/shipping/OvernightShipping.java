@@ -2,6 +2,7 @@ package pcstore.shipping;
 
 import pcstore.models.Customer;
 import pcstore.models.CorporateCustomer;
+import pcstore.models.Money;
 import java.math.BigDecimal;
 
 /**
@@ -9,16 +10,27 @@ import java.math.BigDecimal;
  * Demonstrates Open/Closed Principle and Liskov Substitution Principle
  */
 public class OvernightShipping implements ShippingCalculator {
-    private static final double FLAT_RATE = 50.0;
+    private static final long FLAT_RATE_CENTS = 5000;
+    private static final long FREE_SHIPPING_MINIMUM_CENTS = 100_000;
 
     @Override
     public BigDecimal calculateShippingCost(Customer customer, double orderTotal, double weight) {
+        return Money.toBigDecimal(calculateShippingCents(customer, Math.round(orderTotal * 100), weight));
+    }
+
+    @Override
+    public long calculateShippingCents(Customer customer, long orderTotalCents, double weight) {
         // Only corporate customers with high order values get free overnight shipping
-        if (customer instanceof CorporateCustomer && orderTotal >= 1000.0) {
-            return BigDecimal.ZERO;
+        if (orderTotalCents >= getFreeShippingMinimumCents(customer)) {
+            return 0;
         }
         
-        return BigDecimal.valueOf(FLAT_RATE);
+        return FLAT_RATE_CENTS;
+    }
+
+    @Override
+    public long getFreeShippingMinimumCents(Customer customer) {
+        return customer instanceof CorporateCustomer ? FREE_SHIPPING_MINIMUM_CENTS : Long.MAX_VALUE;
     }
 
     @Override
@@ -1,15 +1,44 @@
 package pcstore.shipping;
 
 import pcstore.models.Customer;
+import pcstore.models.Money;
 import java.math.BigDecimal;
 
 /**
  * ShippingCalculator interface (OCP: Closed for modification, open for extension)
  * Demonstrates Open/Closed Principle
+ *
+ * calculateShippingCents is the allocation-free path used when orders are shipped;
+ * calculators that only implement calculateShippingCost get it through the default conversion.
+ *
+ * ShippingQuoteEngine precomputes costs from these methods and assumes a cost depends on the
+ * order total only through getFreeShippingMinimumCents (free at or above it, charged below).
  */
 public interface ShippingCalculator {
     BigDecimal calculateShippingCost(Customer customer, double orderTotal, double weight);
     String getShippingMethod();
     int getEstimatedDeliveryDays();
     boolean isAvailableForCustomer(Customer customer);
-}
\ No newline at end of file
+
+    /**
+     * Shipping cost in whole cents for an order total given in cents
+     */
+    default long calculateShippingCents(Customer customer, long orderTotalCents, double weight) {
+        return Money.toCents(calculateShippingCost(customer, orderTotalCents / 100.0, weight));
+    }
+
+    /**
+     * Smallest order total, in cents, from which this option ships free for the customer;
+     * Long.MAX_VALUE if it never does
+     */
+    default long getFreeShippingMinimumCents(Customer customer) {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Rate per kg (in cents) times the weight, rounded to the nearest cent
+     */
+    static long weightChargeCents(long ratePerKgCents, double weight) {
+        return Math.round(ratePerKgCents * weight);
+    }
+}
@@ -0,0 +1,70 @@
+package pcstore.shipping;
+
+import pcstore.models.Money;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ShippingQuote class (SRP: Only holds the shipping options offered for one order)
+ * Every option available to the customer with its cost, in the order the options were
+ * registered. Quotes are precomputed and shared by ShippingQuoteEngine, so they are immutable.
+ */
+public final class ShippingQuote {
+    private final List<Option> options;
+    private final Option preferred;
+    private final Option cheapest;
+
+    ShippingQuote(List<Option> options, Option fallback) {
+        this.options = Collections.unmodifiableList(options);
+        this.preferred = options.isEmpty() ? fallback : options.get(0);
+        Option lowest = preferred;
+        for (Option option : options) {
+            if (option.costCents < lowest.costCents) {
+                lowest = option;
+            }
+        }
+        this.cheapest = lowest;
+    }
+
+    public List<Option> getOptions() { return options; }
+
+    /**
+     * The first available option in registration order; if the customer can use none,
+     * the first registered option
+     */
+    public Option getPreferred() { return preferred; }
+
+    /**
+     * The lowest-cost available option (the preferred one on ties)
+     */
+    public Option getCheapest() { return cheapest; }
+
+    @Override
+    public String toString() {
+        return "ShippingQuote" + options;
+    }
+
+    /**
+     * One shipping option and what it costs for the quoted order
+     */
+    public static final class Option {
+        private final ShippingCalculator calculator;
+        private final long costCents;
+
+        Option(ShippingCalculator calculator, long costCents) {
+            this.calculator = calculator;
+            this.costCents = costCents;
+        }
+
+        public ShippingCalculator getCalculator() { return calculator; }
+        public long getCostCents() { return costCents; }
+        public Money getCost() { return Money.ofCents(costCents); }
+        public String getShippingMethod() { return calculator.getShippingMethod(); }
+        public int getEstimatedDeliveryDays() { return calculator.getEstimatedDeliveryDays(); }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %s (%d days)", getShippingMethod(), getCost(), getEstimatedDeliveryDays());
+        }
+    }
+}
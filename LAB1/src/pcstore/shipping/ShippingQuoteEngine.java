@@ -0,0 +1,149 @@
+package pcstore.shipping;
+
+import pcstore.models.Customer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ShippingQuoteEngine class (SRP: Only responsible for quoting every shipping option at once)
+ * Precomputes, per customer type, a rate table over weight bands: for each band and each
+ * range of order totals between free-shipping thresholds, the complete ShippingQuote.
+ * A quote is then a hash lookup, two binary searches and an array read, and returns a
+ * shared instance, so quoting allocates nothing.
+ *
+ * Weights are billed by band: a parcel is charged as the upper limit of its band
+ * (by default the next half kilogram). Parcels above the last band are quoted directly
+ * from the calculators. A customer type's table is built from the first customer of that
+ * type that is quoted, so calculators must price all customers of one type alike.
+ * Call invalidate after changing the rates behind the calculators.
+ */
+public class ShippingQuoteEngine {
+    private static final double[] DEFAULT_WEIGHT_BANDS_KG = halfKilogramBands(60);
+
+    private final List<ShippingCalculator> options;
+    // Upper weight limit of each band, ascending
+    private final double[] weightBandsKg;
+    // Customer type -> precomputed quotes; built on the first quote for that type
+    private final Map<String, RateTable> rateTables = new ConcurrentHashMap<>();
+
+    public ShippingQuoteEngine(List<ShippingCalculator> options) {
+        this(options, DEFAULT_WEIGHT_BANDS_KG);
+    }
+
+    public ShippingQuoteEngine(List<ShippingCalculator> options, double[] weightBandsKg) {
+        if (options.isEmpty()) {
+            throw new IllegalArgumentException("At least one shipping option is required");
+        }
+        if (weightBandsKg.length == 0) {
+            throw new IllegalArgumentException("At least one weight band is required");
+        }
+        for (int i = 0; i < weightBandsKg.length; i++) {
+            if (weightBandsKg[i] <= 0 || (i > 0 && weightBandsKg[i] <= weightBandsKg[i - 1])) {
+                throw new IllegalArgumentException("Weight bands must be positive and ascending");
+            }
+        }
+        this.options = Collections.unmodifiableList(new ArrayList<>(options));
+        this.weightBandsKg = weightBandsKg.clone();
+    }
+
+    /**
+     * All options available to the customer with their costs for an order of this total and weight
+     */
+    public ShippingQuote quote(Customer customer, long orderTotalCents, double weightKg) {
+        int band = bandOf(weightKg);
+        if (band == weightBandsKg.length) {
+            return quoteDirectly(customer, orderTotalCents, weightKg);
+        }
+        RateTable table = rateTables.get(customer.getCustomerType());
+        if (table == null) {
+            // Only the first quote per type pays for the capturing lambda
+            table = rateTables.computeIfAbsent(customer.getCustomerType(), type -> buildTable(customer));
+        }
+        return table.quotes[band][table.totalRangeOf(orderTotalCents)];
+    }
+
+    /**
+     * Drops every precomputed table; they are rebuilt on the next quote
+     */
+    public void invalidate() {
+        rateTables.clear();
+    }
+
+    public List<ShippingCalculator> getOptions() {
+        return options;
+    }
+
+    private int bandOf(double weightKg) {
+        int index = Arrays.binarySearch(weightBandsKg, weightKg);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private RateTable buildTable(Customer customer) {
+        // Order totals at which some available option turns free split the totals into ranges
+        TreeSet<Long> thresholds = new TreeSet<>();
+        for (ShippingCalculator option : options) {
+            long freeFrom = option.getFreeShippingMinimumCents(customer);
+            if (freeFrom > 0 && freeFrom != Long.MAX_VALUE) {
+                thresholds.add(freeFrom);
+            }
+        }
+        long[] rangeStarts = new long[thresholds.size() + 1];
+        rangeStarts[0] = Long.MIN_VALUE;
+        int range = 1;
+        for (long threshold : thresholds) {
+            rangeStarts[range++] = threshold;
+        }
+
+        ShippingQuote[][] quotes = new ShippingQuote[weightBandsKg.length][rangeStarts.length];
+        for (int band = 0; band < weightBandsKg.length; band++) {
+            for (int r = 0; r < rangeStarts.length; r++) {
+                // Every total in a range is treated alike, so its lowest total stands for all of them
+                // (thresholds are positive, so 0 lies in the first range)
+                long representativeTotal = r == 0 ? 0 : rangeStarts[r];
+                quotes[band][r] = quoteDirectly(customer, representativeTotal, weightBandsKg[band]);
+            }
+        }
+        return new RateTable(rangeStarts, quotes);
+    }
+
+    private ShippingQuote quoteDirectly(Customer customer, long orderTotalCents, double weightKg) {
+        List<ShippingQuote.Option> available = new ArrayList<>(options.size());
+        for (ShippingCalculator option : options) {
+            if (option.isAvailableForCustomer(customer)) {
+                available.add(new ShippingQuote.Option(option, option.calculateShippingCents(customer, orderTotalCents, weightKg)));
+            }
+        }
+        ShippingCalculator first = options.get(0);
+        ShippingQuote.Option fallback = available.isEmpty()
+            ? new ShippingQuote.Option(first, first.calculateShippingCents(customer, orderTotalCents, weightKg))
+            : null;
+        return new ShippingQuote(available, fallback);
+    }
+
+    private static double[] halfKilogramBands(int count) {
+        double[] bands = new double[count];
+        for (int i = 0; i < count; i++) {
+            bands[i] = (i + 1) * 0.5;
+        }
+        return bands;
+    }
+
+    /**
+     * Precomputed quotes of one customer type: [weight band][order total range]
+     */
+    private static final class RateTable {
+        // Lowest order total of each range, ascending; rangeStarts[0] == Long.MIN_VALUE
+        final long[] rangeStarts;
+        final ShippingQuote[][] quotes;
+
+        RateTable(long[] rangeStarts, ShippingQuote[][] quotes) {
+            this.rangeStarts = rangeStarts;
+            this.quotes = quotes;
+        }
+
+        int totalRangeOf(long orderTotalCents) {
+            int index = Arrays.binarySearch(rangeStarts, orderTotalCents);
+            return index >= 0 ? index : -index - 2;
+        }
+    }
+}
@@ -1,26 +1,35 @@
 package pcstore.shipping;
 
 import pcstore.models.Customer;
+import pcstore.models.Money;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 /**
  * StandardShipping (OCP & LSP: Extension that can substitute interface)
  * Demonstrates Open/Closed Principle and Liskov Substitution Principle
  */
 public class StandardShipping implements ShippingCalculator {
-    private static final double RATE_PER_KG = 5.0;
-    private static final double BASE_COST = 10.0;
+    private static final long RATE_PER_KG_CENTS = 500;
+    private static final long BASE_COST_CENTS = 1000;
 
     @Override
     public BigDecimal calculateShippingCost(Customer customer, double orderTotal, double weight) {
+        return Money.toBigDecimal(calculateShippingCents(customer, Math.round(orderTotal * 100), weight));
+    }
+
+    @Override
+    public long calculateShippingCents(Customer customer, long orderTotalCents, double weight) {
         // Check if customer is eligible for free shipping
-        if (customer.isEligibleForFreeShipping(orderTotal)) {
-            return BigDecimal.ZERO;
+        if (orderTotalCents >= getFreeShippingMinimumCents(customer)) {
+            return 0;
         }
         
-        double cost = BASE_COST + (weight * RATE_PER_KG);
-        return BigDecimal.valueOf(cost).setScale(2, RoundingMode.HALF_UP);
+        return BASE_COST_CENTS + ShippingCalculator.weightChargeCents(RATE_PER_KG_CENTS, weight);
+    }
+
+    @Override
+    public long getFreeShippingMinimumCents(Customer customer) {
+        return customer.getFreeShippingMinimumCents();
     }
 
     @Override
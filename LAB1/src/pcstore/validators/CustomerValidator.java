@@ -18,11 +18,19 @@ public class CustomerValidator {
 
     public boolean validateCustomer(Customer customer) {
         return validateId(customer.getCustomerId()) &&
-               validateName(customer.getFirstName()) &&
-               validateName(customer.getLastName()) &&
-               validateEmail(customer.getEmail()) &&
-               validatePhone(customer.getPhone()) &&
-               validateAddress(customer.getAddress());
+               validateCustomerInfo(customer.getFirstName(), customer.getLastName(), customer.getEmail(),
+                                    customer.getPhone(), customer.getAddress());
+    }
+
+    /**
+     * Validates contact details before they are applied to a customer
+     */
+    public boolean validateCustomerInfo(String firstName, String lastName, String email, String phone, String address) {
+        return validateName(firstName) &&
+               validateName(lastName) &&
+               validateEmail(email) &&
+               validatePhone(phone) &&
+               validateAddress(address);
     }
 
     private boolean validateId(String id) {
@@ -51,27 +59,31 @@ public class CustomerValidator {
         if (!validateId(customer.getCustomerId())) {
             errors.append("Invalid customer ID: must be at least 3 characters. ");
         }
-        if (!validateName(customer.getFirstName())) {
+        errors.append(getValidationErrors(customer.getFirstName(), customer.getLastName(), customer.getEmail(),
+                                          customer.getPhone(), customer.getAddress()));
+        
+        return errors.toString();
+    }
+
+    public String getValidationErrors(String firstName, String lastName, String email, String phone, String address) {
+        StringBuilder errors = new StringBuilder();
+        
+        if (!validateName(firstName)) {
             errors.append("Invalid first name: must be at least 2 characters. ");
         }
-        if (!validateName(customer.getLastName())) {
+        if (!validateName(lastName)) {
             errors.append("Invalid last name: must be at least 2 characters. ");
         }
-        if (!validateEmail(customer.getEmail())) {
+        if (!validateEmail(email)) {
             errors.append("Invalid email format. ");
         }
-        if (!validatePhone(customer.getPhone())) {
+        if (!validatePhone(phone)) {
             errors.append("Invalid phone number format. ");
         }
-        if (!validateAddress(customer.getAddress())) {
+        if (!validateAddress(address)) {
             errors.append("Invalid address: must be at least 10 characters. ");
         }
         
         return errors.toString();
     }
-
-    public boolean isEmailUnique(String email, java.util.List<Customer> existingCustomers) {
-        return existingCustomers.stream()
-                               .noneMatch(customer -> customer.getEmail().equalsIgnoreCase(email));
-    }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package pcstore;
+
+import pcstore.models.Accessory;
+import pcstore.models.Money;
+import pcstore.models.Order;
+import pcstore.repositories.OrderRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * ArchiveChecks (SRP: Only checks that archived orders read back exactly as they were saved)
+ */
+final class ArchiveChecks {
+    private static final Order.OrderStatus[] STATUSES = Order.OrderStatus.values();
+
+    static void run(Checks checks) {
+        checks.section("Archive round trip of completed orders", () -> roundTrip(checks));
+    }
+
+    private static void roundTrip(Checks checks) {
+        OrderRepository repository = new OrderRepository();
+        List<Order> originals = new ArrayList<>();
+        long terminal = 0;
+        for (int i = 0; i < 40; i++) {
+            Order order = DurabilityChecks.newOrder("ORD-ARCHIVE-" + i);
+            order.addItem(StockChecks.newMouse("ACC-ARCHIVE-" + i, 10), 1 + i % 3);
+            if (i % 4 == 0) {
+                order.addItem(new Accessory("ACC-CABLE", "Cable", "Anker", new BigDecimal("0.333"), 100,
+                                            "USB-C cable", "Cable", "Universal", "Black", false), 7);
+            }
+            order.applyDiscount(Money.ofCents(i * 10L));
+            order.setShippingCost(Money.ofCents(999));
+            repository.save(order);
+            Order.OrderStatus status = STATUSES[i % STATUSES.length];
+            repository.updateStatus(order.getOrderId(), status);
+            if (status == Order.OrderStatus.DELIVERED || status == Order.OrderStatus.CANCELLED) {
+                terminal++;
+            }
+            originals.add(order);
+        }
+        Money revenue = repository.getTotalRevenueAmount();
+        long delivered = repository.getCountByStatus(Order.OrderStatus.DELIVERED);
+
+        int moved = repository.archiveCompletedOrders();
+        checks.check(moved == terminal && repository.getArchivedCount() == terminal,
+                     "every delivered and cancelled order is archived (" + moved + ")");
+        checks.check(repository.getArchiveBytes() > 0, "archived orders take off-heap space");
+        checks.check(repository.archiveCompletedOrders() == 0, "archiving again moves nothing");
+
+        boolean same = true;
+        for (Order original : originals) {
+            same &= repository.findById(original.getOrderId()).map(order -> sameOrder(original, order)).orElse(false);
+        }
+        checks.check(same, "findById decodes every order with the fields it was saved with");
+        checks.check(repository.getTotalCount() == originals.size()
+                         && repository.getCountByStatus(Order.OrderStatus.DELIVERED) == delivered
+                         && repository.findByStatus(Order.OrderStatus.DELIVERED).size() == delivered
+                         && repository.getTotalRevenueAmount().equals(revenue),
+                     "counts, status queries and revenue are unchanged by archiving");
+        checks.check(repository.findAll().stream().allMatch(order -> originals.stream()
+                         .anyMatch(original -> original.getOrderId().equals(order.getOrderId()) && sameOrder(original, order))),
+                     "findAll returns archived orders decoded");
+
+        Order reopened = repository.findByStatus(Order.OrderStatus.DELIVERED).get(0);
+        repository.save(reopened);
+        checks.check(repository.getArchivedCount() == terminal - 1
+                         && repository.findById(reopened.getOrderId()).map(order -> sameOrder(reopened, order)).orElse(false),
+                     "re-saving an archived order brings it back onto the heap");
+    }
+
+    private static boolean sameOrder(Order expected, Order actual) {
+        boolean same = expected.getOrderId().equals(actual.getOrderId())
+                       && expected.getCustomerId().equals(actual.getCustomerId())
+                       && expected.getShippingAddress().equals(actual.getShippingAddress())
+                       && expected.getOrderDate().equals(actual.getOrderDate())
+                       && expected.getStatus() == actual.getStatus()
+                       && expected.getSubtotal().equals(actual.getSubtotal())
+                       && expected.getDiscountAmount().equals(actual.getDiscountAmount())
+                       && expected.getShippingCost().equals(actual.getShippingCost())
+                       && expected.getTotal().equals(actual.getTotal())
+                       && expected.getItemCount() == actual.getItemCount();
+        for (int i = 0; same && i < expected.getItemCount(); i++) {
+            Order.OrderItem left = expected.getItems().get(i);
+            Order.OrderItem right = actual.getItems().get(i);
+            same = left.getProductId().equals(right.getProductId())
+                   && Objects.equals(left.getProductName(), right.getProductName())
+                   && left.getExactUnitPrice().compareTo(right.getExactUnitPrice()) == 0
+                   && left.getQuantity() == right.getQuantity()
+                   && left.getTotalPrice().equals(right.getTotalPrice());
+        }
+        return same;
+    }
+}
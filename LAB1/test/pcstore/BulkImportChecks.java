@@ -0,0 +1,100 @@
+package pcstore;
+
+import pcstore.models.Customer;
+import pcstore.models.Money;
+import pcstore.models.Order;
+import pcstore.models.RegularCustomer;
+import pcstore.repositories.ConcurrentCustomerRepository;
+import pcstore.repositories.CustomerRepository;
+import pcstore.repositories.OrderRepository;
+import pcstore.services.BulkImportResult;
+import pcstore.services.CustomerService;
+import pcstore.validators.CustomerValidator;
+import java.util.List;
+
+/**
+ * BulkImportChecks (SRP: Only checks the saveAll batch paths and the bulk customer import)
+ */
+final class BulkImportChecks {
+
+    static void run(Checks checks) {
+        checks.section("Customer saveAll", () -> {
+            customerBatches(checks, new CustomerRepository(), "CustomerRepository");
+            customerBatches(checks, new ConcurrentCustomerRepository(), "ConcurrentCustomerRepository");
+        });
+        checks.section("Order saveAll", () -> orderBatch(checks));
+        checks.section("Customer import", () -> customerImport(checks));
+    }
+
+    private static void customerBatches(Checks checks, CustomerRepository repository, String name) {
+        repository.save(customer("CUST-B0", "Ada", "ada@email.com"));
+
+        checks.check(rejected(repository, List.of(customer("CUST-B1", "Bob", "bob@email.com"),
+                                                  customer("CUST-B2", "Cy", " BOB@email.com "))),
+                     name + ": a batch whose customers share an email is rejected");
+        checks.check(rejected(repository, List.of(customer("CUST-B1", "Bob", "bob@email.com"),
+                                                  customer("CUST-B2", "Cy", "Ada@Email.com"))),
+                     name + ": a batch taking another customer's email is rejected");
+        checks.check(repository.getTotalCount() == 1 && !repository.emailExists("bob@email.com"),
+                     name + ": a rejected batch saves nothing");
+
+        repository.saveAll(List.of(customer("CUST-B1", "Bob", "bob@email.com"),
+                                   customer("CUST-B0", "Ada", "ada.new@email.com"),
+                                   customer("CUST-B2", "Cy", "cy@email.com"),
+                                   customer("CUST-B1", "Bob", "robert@email.com")));
+        checks.check(repository.getTotalCount() == 3, name + ": a valid batch is saved (3 customers)");
+        checks.check(repository.findByEmail("robert@email.com").isPresent() && !repository.emailExists("bob@email.com"),
+                     name + ": the later duplicate of an id wins");
+        checks.check(repository.findByEmail("ada.new@email.com").isPresent() && !repository.emailExists("ada@email.com"),
+                     name + ": a saved customer's old email is released");
+        checks.check(repository.findByPhone("(123) 456-7890").size() == 3 && repository.searchByName("cy doe").size() == 1,
+                     name + ": phone and name indexes cover the batch");
+    }
+
+    private static void orderBatch(Checks checks) {
+        OrderRepository repository = new OrderRepository();
+        repository.save(DurabilityChecks.newOrder("ORD-BATCH-0"));
+        Order first = pricedOrder("ORD-BATCH-1");
+        Order replacement = pricedOrder("ORD-BATCH-1");
+        repository.saveAll(List.of(first, pricedOrder("ORD-BATCH-2"), DurabilityChecks.newOrder("ORD-BATCH-0"), replacement));
+
+        checks.check(repository.getTotalCount() == 3 && repository.getCountByStatus(Order.OrderStatus.PENDING) == 3,
+                     "batched orders are counted once each");
+        checks.check(repository.getTotalRevenueAmount().equals(Money.ofCents(10_000)), "batched orders add their revenue");
+        checks.check(repository.findByCustomerId("CUST001").size() == 3, "the customer index covers the batch");
+        checks.check(repository.findById("ORD-BATCH-1").orElse(null) == replacement, "the later duplicate of an id wins");
+        replacement.updateStatus(Order.OrderStatus.CANCELLED);
+        checks.check(repository.getCountByStatus(Order.OrderStatus.CANCELLED) == 1
+                         && repository.getTotalRevenueAmount().equals(Money.ofCents(5_000)),
+                     "status changes of batched orders reach the repository");
+    }
+
+    private static void customerImport(Checks checks) {
+        CustomerService customers = new CustomerService(new CustomerRepository(), new CustomerValidator());
+        BulkImportResult result = customers.importCustomers(List.of(customer("CUST-I1", "Ann", "ann@email.com"),
+                                                                    customer("CUST-I2", "Ben", " ANN@email.com"),
+                                                                    customer("CUST-I3", "Cat", "cat@email.com")));
+        checks.check(result.getImportedCount() == 2 && result.getRejectedCount() == 1,
+                     "import rejects a record whose email differs only in case and spacing");
+        checks.check(customers.getCustomerByEmail("cat@email.com").isPresent(), "the accepted records are saved");
+    }
+
+    private static boolean rejected(CustomerRepository repository, List<Customer> batch) {
+        try {
+            repository.saveAll(batch);
+            return false;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage().contains("CUST-B2");
+        }
+    }
+
+    private static Customer customer(String customerId, String firstName, String email) {
+        return new RegularCustomer(customerId, firstName, "Doe", email, "1234567890", "123 Main St, City, State 12345");
+    }
+
+    private static Order pricedOrder(String orderId) {
+        Order order = DurabilityChecks.newOrder(orderId);
+        order.addItem(StockChecks.newMouse("ACC-BATCH", 10), 2);
+        return order;
+    }
+}
@@ -0,0 +1,114 @@
+package pcstore;
+
+import pcstore.models.Accessory;
+import pcstore.models.Desktop;
+import pcstore.models.Laptop;
+import pcstore.models.Product;
+import pcstore.repositories.ColumnarProductRepository;
+import pcstore.repositories.ProductRepository;
+import pcstore.services.ProductService;
+import pcstore.validators.ProductValidator;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * CatalogChecks (SRP: Only checks that ProductRepository lookups follow the products they index)
+ */
+final class CatalogChecks {
+
+    static void run(Checks checks) {
+        checks.section("Brand change re-files the product", () -> {
+            brandChange(checks, new ProductRepository(), "ProductRepository");
+            brandChange(checks, new ColumnarProductRepository(), "ColumnarProductRepository");
+        });
+        checks.section("Catalog snapshot round trip", () -> {
+            snapshotRoundTrip(checks, new ProductRepository(), "ProductRepository");
+            snapshotRoundTrip(checks, new ColumnarProductRepository(), "ColumnarProductRepository");
+        });
+    }
+
+    private static void brandChange(Checks checks, ProductRepository repository, String name) {
+        ProductService products = new ProductService(repository, new ProductValidator());
+        products.addProduct(StockChecks.newMouse("ACC-BRAND", 5));
+
+        checks.check(products.updateProduct("ACC-BRAND", product -> {
+                         product.setBrand("Razer");
+                         product.setBasePrice(new BigDecimal("49.99"));
+                     }), name + ": updateProduct finds the product");
+        checks.check(products.getProductsByBrand("Logitech").isEmpty(), name + ": the product leaves its old brand");
+        checks.check(ids(products.getProductsByBrand("razer")).equals(List.of("ACC-BRAND")),
+                     name + ": the product is found under its new brand");
+        checks.check(ids(products.searchProducts("razer")).equals(List.of("ACC-BRAND")),
+                     name + ": text search sees the new brand");
+        checks.check(ids(products.getProductsByPriceRange(49.0, 50.0)).equals(List.of("ACC-BRAND"))
+                         && products.getProductsByPriceRange(24.0, 26.0).isEmpty(),
+                     name + ": the price index follows the new price");
+        if (repository instanceof ColumnarProductRepository columnar) {
+            checks.check(columnar.getInStockCountByBrand("Razer") == 1 && columnar.getInStockCountByBrand("Logitech") == 0,
+                         name + ": the brand column follows the new brand");
+        }
+        checks.check(!products.updateProduct("ACC-MISSING", product -> product.setBrand("Razer")),
+                     name + ": updating an unknown product reports false");
+    }
+
+    private static void snapshotRoundTrip(Checks checks, ProductRepository reopened, String name) throws IOException {
+        List<Product> catalog = List.of(
+            new Laptop("LAP-SNAP", "Gaming Laptop", "Dell", new BigDecimal("1299.99"), 5, "High-end gaming",
+                       "Intel i7", 16, 512, "15.6 inch", "Windows 11"),
+            new Desktop("DSK-SNAP", "Workstation", "HP", new BigDecimal("1899.50"), 0, "Desktop for rendering",
+                        "AMD Ryzen 9", 64, 2048, "RTX 4080", "ASUS X670", true),
+            new Desktop("DSK-NULLS", "Office Tower", "Lenovo", new BigDecimal("499.005"), 3, null,
+                        "Intel i5", 8, 256, null, "MSI B660", false),
+            StockChecks.newMouse("ACC-SNAP", 40));
+        ProductRepository original = new ProductRepository();
+        original.saveAll(catalog);
+        original.save(new Accessory("ACC-GONE", "Ergonomic Keyboard", "Logitech", new BigDecimal("79.00"), 2,
+                                    "Split keyboard", "Keyboard", "Universal", "Grey", false));
+
+        Path directory = Files.createTempDirectory("pcstore-snapshot");
+        try {
+            Path file = directory.resolve("catalog.snapshot");
+            original.writeSnapshot(file);
+            checks.check(reopened.loadSnapshot(file) == catalog.size() + 1, name + ": every product is loaded");
+
+            reopened.deleteById("ACC-GONE");
+            checks.check(ids(reopened.findByBrand("dell")).equals(List.of("LAP-SNAP"))
+                             && reopened.findByCategory("Desktop").size() == 2,
+                         name + ": brand and category lookups answer from the snapshot");
+            checks.check(ids(reopened.findByPriceRange(new BigDecimal("25.00"), new BigDecimal("1300"), 10))
+                             .equals(List.of("ACC-SNAP", "DSK-NULLS", "LAP-SNAP")),
+                         name + ": the price index is rebuilt from the snapshot");
+            checks.check(reopened.getInStockCount() == 3 && !ids(reopened.findInStock()).contains("DSK-SNAP"),
+                         name + ": stock comes back with the products");
+            checks.check(ids(reopened.search("rendering", 10)).equals(List.of("DSK-SNAP"))
+                             && ids(reopened.searchByName("gaming")).equals(List.of("LAP-SNAP")),
+                         name + ": text search indexes the snapshot's names and descriptions on first use");
+            checks.check(reopened.search("ergonomic", 10).isEmpty(), name + ": a product deleted before the first search is not found");
+            checks.check(catalog.stream().allMatch(product -> reopened.findById(product.getProductId())
+                                                                     .filter(copy -> sameProduct(product, copy))
+                                                                     .isPresent()),
+                         name + ": laptops, desktops and accessories come back field for field");
+        } finally {
+            Checks.deleteRecursively(directory);
+        }
+    }
+
+    private static boolean sameProduct(Product expected, Product actual) {
+        return expected.getClass() == actual.getClass()
+               && expected.getProductId().equals(actual.getProductId())
+               && expected.getName().equals(actual.getName())
+               && expected.getBrand().equals(actual.getBrand())
+               && expected.getBasePrice().equals(actual.getBasePrice())
+               && expected.getStockQuantity() == actual.getStockQuantity()
+               && Objects.equals(expected.getDescription(), actual.getDescription())
+               && expected.getSpecifications().equals(actual.getSpecifications());
+    }
+
+    static List<String> ids(List<Product> products) {
+        return products.stream().map(Product::getProductId).toList();
+    }
+}
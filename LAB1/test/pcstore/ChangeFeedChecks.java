@@ -0,0 +1,49 @@
+package pcstore;
+
+import pcstore.repositories.ConcurrentOrderRepository;
+import pcstore.repositories.OrderChange;
+import pcstore.repositories.OrderChangeFeed;
+import pcstore.repositories.OrderRepository;
+import java.util.List;
+
+/**
+ * ChangeFeedChecks (SRP: Only checks how OrderChangeFeed treats subscribers that fall behind)
+ */
+final class ChangeFeedChecks {
+
+    static void run(Checks checks) {
+        checks.section("Change feed lapping", () -> lapping(checks));
+    }
+
+    private static void lapping(Checks checks) {
+        OrderRepository repository = new ConcurrentOrderRepository();
+        OrderChangeFeed feed = repository.getChangeFeed();
+        int written = feed.getCapacity() + 500;
+
+        try (OrderChangeFeed.Subscription subscription = repository.subscribeToChanges()) {
+            long start = System.nanoTime();
+            for (int i = 0; i < written; i++) {
+                repository.save(DurabilityChecks.newOrder("ORD-FEED-" + i));
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            checks.check(elapsedMillis < 5_000, "a subscriber that never polls slows writers only briefly (" + elapsedMillis + " ms)");
+            checks.check(subscription.isLapped(), "the idle subscriber is lapped");
+
+            long received = 0;
+            long lastSequence = -1;
+            boolean ordered = true;
+            List<OrderChange> batch;
+            while (!(batch = subscription.poll(1_000)).isEmpty()) {
+                for (OrderChange change : batch) {
+                    ordered &= change.getSequence() > lastSequence;
+                    lastSequence = change.getSequence();
+                }
+                received += batch.size();
+            }
+            checks.check(subscription.getMissedCount() > 0, "the missed count reports the skipped changes (" + subscription.getMissedCount() + ")");
+            checks.check(received + subscription.getMissedCount() == written, "received plus missed equals written (" + written + ")");
+            checks.check(ordered, "changes that are delivered arrive in sequence order");
+            checks.check(!subscription.isLapped(), "the subscriber is caught up again after polling");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package pcstore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+/**
+ * Checks class (SRP: Only responsible for recording and reporting check results)
+ * The tiny harness behind PCStoreChecks: a suite runs named sections, each section
+ * records one line per expectation, and an exception ends the section as a failure.
+ */
+public final class Checks {
+    private int passed;
+    private int failed;
+
+    public interface Section {
+        void run() throws Exception;
+    }
+
+    public void section(String name, Section section) {
+        System.out.println("\n▶ " + name);
+        try {
+            section.run();
+        } catch (Exception e) {
+            check(false, "threw " + e);
+        }
+    }
+
+    public void check(boolean condition, String expectation) {
+        if (condition) {
+            passed++;
+            System.out.println("  ✅ " + expectation);
+        } else {
+            failed++;
+            System.out.println("  ❌ " + expectation);
+        }
+    }
+
+    int getPassed() { return passed; }
+    int getFailed() { return failed; }
+
+    // Helpers shared by the suites
+    public static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            List<Path> all = new ArrayList<>();
+            paths.forEach(all::add);
+            Collections.reverse(all);
+            for (Path path : all) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
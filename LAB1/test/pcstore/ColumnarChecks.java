@@ -0,0 +1,149 @@
+package pcstore;
+
+import pcstore.models.Accessory;
+import pcstore.models.Desktop;
+import pcstore.models.Laptop;
+import pcstore.models.Product;
+import pcstore.repositories.ColumnarProductRepository;
+import pcstore.repositories.ProductRepository;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * ColumnarChecks (SRP: Only checks ColumnarProductRepository scans against plain ProductRepository answers)
+ */
+final class ColumnarChecks {
+    private static final String[] BRANDS = {"Dell", "HP", "Logitech", "Lenovo", "ASUS"};
+
+    static void run(Checks checks) {
+        checks.section("Columnar scans match the row repository", () -> scansMatch(checks));
+    }
+
+    private static void scansMatch(Checks checks) {
+        Random random = new Random(42);
+        ProductRepository rows = new ProductRepository();
+        ColumnarProductRepository columns = new ColumnarProductRepository();
+
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            batch.add(randomProduct(random, i));
+        }
+        rows.saveAll(batch);
+        columns.saveAll(batch.stream().map(ColumnarChecks::copyOf).collect(Collectors.toList()));
+        checks.check(sameScans(rows, columns), "scans agree after a batch load");
+
+        // Deletes move the last row into the freed slot, so delete from the middle, the end and the start
+        for (String productId : List.of("P150", "P299", "P0", "P298", "P1")) {
+            rows.deleteById(productId);
+            columns.deleteById(productId);
+        }
+        for (int i = 0; i < 200; i++) {
+            String productId = "P" + random.nextInt(320);
+            switch (random.nextInt(5)) {
+                case 0 -> {
+                    rows.deleteById(productId);
+                    columns.deleteById(productId);
+                }
+                case 1 -> {
+                    int stock = random.nextInt(4);
+                    rows.updateStock(productId, stock);
+                    columns.updateStock(productId, stock);
+                }
+                case 2 -> columns.findById(productId).ifPresent(product -> {
+                    // Each repository holds its own copy, so take from both
+                    if (product.tryTakeStock(1)) {
+                        columns.refreshStock(productId);
+                        rows.findById(productId).ifPresent(same -> same.tryTakeStock(1));
+                    }
+                });
+                case 3 -> {
+                    BigDecimal price = randomPrice(random);
+                    rows.update(productId, product -> product.setBasePrice(price));
+                    columns.update(productId, product -> product.setBasePrice(price));
+                }
+                default -> {
+                    Product product = randomProduct(random, Integer.parseInt(productId.substring(1)));
+                    rows.save(product);
+                    columns.save(copyOf(product));
+                }
+            }
+        }
+        checks.check(rows.getTotalCount() == columns.getTotalCount(), "both hold the same products (" + rows.getTotalCount() + ")");
+        checks.check(sameScans(rows, columns), "scans agree after deletes, stock changes, price updates and re-saves");
+    }
+
+    private static boolean sameScans(ProductRepository rows, ColumnarProductRepository columns) {
+        boolean same = ids(rows.findInStock()).equals(ids(columns.findInStock()))
+                       && rows.getInStockCount() == columns.getInStockCount();
+
+        BigDecimal low = new BigDecimal("20.005");
+        BigDecimal high = new BigDecimal("900.50");
+        for (String category : List.of("Laptop", "Desktop", "Accessory")) {
+            Set<String> expected = rows.stream()
+                                       .filter(product -> product.isInStock() && product.getCategory().equals(category)
+                                                          && product.getBasePrice().compareTo(low) >= 0
+                                                          && product.getBasePrice().compareTo(high) <= 0)
+                                       .map(Product::getProductId)
+                                       .collect(Collectors.toSet());
+            same &= expected.equals(ids(columns.findInStockByCategoryAndPrice(category, low, high)));
+        }
+
+        Map<String, Long> countByCategory = rows.stream()
+                                                .collect(Collectors.groupingBy(Product::getCategory, Collectors.counting()));
+        same &= countByCategory.equals(columns.getCountByCategory());
+
+        for (String brand : BRANDS) {
+            long expected = rows.stream().filter(product -> product.getBrand().equals(brand) && product.isInStock()).count();
+            same &= expected == columns.getInStockCountByBrand(brand.toUpperCase(Locale.ROOT));
+        }
+
+        BigDecimal value = rows.stream()
+                               .map(product -> product.getBasePrice().multiply(BigDecimal.valueOf(product.getStockQuantity())))
+                               .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return same && value.compareTo(columns.getInventoryValue()) == 0;
+    }
+
+    private static Set<String> ids(List<Product> products) {
+        return products.stream().map(Product::getProductId).collect(Collectors.toSet());
+    }
+
+    private static Product randomProduct(Random random, int i) {
+        String productId = "P" + i;
+        String brand = BRANDS[random.nextInt(BRANDS.length)];
+        BigDecimal price = randomPrice(random);
+        int stock = random.nextInt(4);
+        return switch (random.nextInt(3)) {
+            case 0 -> new Laptop(productId, "Laptop " + i, brand, price, stock, "Laptop", "Intel i7", 16, 512, "15 inch", "Windows");
+            case 1 -> new Desktop(productId, "Desktop " + i, brand, price, stock, "Desktop", "AMD", 32, 1024, "RTX", "ASUS", true);
+            default -> new Accessory(productId, "Accessory " + i, brand, price, stock, "Accessory", "Mouse", "Universal", "Black", true);
+        };
+    }
+
+    // Mostly whole cents, with some sub-cent prices on and around the range bounds
+    private static BigDecimal randomPrice(Random random) {
+        return switch (random.nextInt(6)) {
+            case 0 -> new BigDecimal("20.005");
+            case 1 -> new BigDecimal("20.004");
+            case 2 -> new BigDecimal("900.501");
+            default -> BigDecimal.valueOf(1_000 + random.nextInt(150_000), 2);
+        };
+    }
+
+    private static Product copyOf(Product product) {
+        if (product instanceof Laptop laptop) {
+            return new Laptop(laptop.getProductId(), laptop.getName(), laptop.getBrand(), laptop.getBasePrice(),
+                              laptop.getStockQuantity(), laptop.getDescription(), laptop.getProcessor(), laptop.getRamGB(),
+                              laptop.getStorageGB(), laptop.getScreenSize(), laptop.getOperatingSystem());
+        }
+        if (product instanceof Desktop desktop) {
+            return new Desktop(desktop.getProductId(), desktop.getName(), desktop.getBrand(), desktop.getBasePrice(),
+                               desktop.getStockQuantity(), desktop.getDescription(), desktop.getProcessor(), desktop.getRamGB(),
+                               desktop.getStorageGB(), desktop.getGraphicsCard(), desktop.getMotherboard(), desktop.hasWiFi());
+        }
+        Accessory accessory = (Accessory) product;
+        return new Accessory(accessory.getProductId(), accessory.getName(), accessory.getBrand(), accessory.getBasePrice(),
+                             accessory.getStockQuantity(), accessory.getDescription(), accessory.getAccessoryType(),
+                             accessory.getCompatibility(), accessory.getColor(), accessory.isWireless());
+    }
+}
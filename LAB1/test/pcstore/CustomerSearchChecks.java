@@ -0,0 +1,69 @@
+package pcstore;
+
+import pcstore.models.Customer;
+import pcstore.models.RegularCustomer;
+import pcstore.repositories.CustomerRepository;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * CustomerSearchChecks (SRP: Only checks the CustomerRepository phone lookup and fuzzy name search)
+ */
+final class CustomerSearchChecks {
+
+    static void run(Checks checks) {
+        checks.section("Phone lookup ignores formatting", () -> phones(checks));
+        checks.section("Fuzzy name ranking", () -> fuzzyNames(checks));
+    }
+
+    private static void phones(Checks checks) {
+        CustomerRepository repository = new CustomerRepository();
+        repository.save(customer("CUST-P1", "Ada", "Lovelace", "+1 (555) 010-2000"));
+        repository.save(customer("CUST-P2", "Alan", "Turing", "15550102000"));
+        repository.save(customer("CUST-P3", "Grace", "Hopper", "555-010-3000"));
+
+        checks.check(Set.copyOf(ids(repository.findByPhone("1-555-010-2000"))).equals(Set.of("CUST-P1", "CUST-P2")),
+                     "differently formatted numbers with the same digits match");
+        checks.check(ids(repository.findByPhone("(555) 010 3000")).equals(List.of("CUST-P3")),
+                     "brackets and spaces are ignored");
+        checks.check(repository.findByPhone("555-010-2000").isEmpty(), "a number with other digits does not match");
+
+        repository.save(customer("CUST-P1", "Ada", "Lovelace", "555.010.4000"));
+        checks.check(ids(repository.findByPhone("15550102000")).equals(List.of("CUST-P2"))
+                         && ids(repository.findByPhone("5550104000")).equals(List.of("CUST-P1")),
+                     "re-saving with a new number moves the customer");
+        repository.deleteById("CUST-P2");
+        checks.check(repository.findByPhone("+1 555 010 2000").isEmpty(), "deleting a customer removes its number");
+    }
+
+    private static void fuzzyNames(Checks checks) {
+        CustomerRepository repository = new CustomerRepository();
+        repository.save(customer("CUST-F1", "John", "Smith", "111"));
+        repository.save(customer("CUST-F2", "Jonathon", "Smith", "222"));
+        repository.save(customer("CUST-F3", "Jonathan", "Smith", "333"));
+        repository.save(customer("CUST-F4", "Jane", "Doe", "444"));
+        repository.save(customer("CUST-F5", "Jonathan", "Smithers", "555"));
+
+        checks.check(ids(repository.searchByNameFuzzy("JONATHAN smith", 10)).equals(List.of("CUST-F3", "CUST-F5", "CUST-F2", "CUST-F1")),
+                     "the exact name ranks first and closer names rank higher");
+        checks.check(ids(repository.searchByNameFuzzy("Jonahtan Smith", 10)).get(0).equals("CUST-F3"),
+                     "a typo still finds the intended name first");
+        checks.check(ids(repository.searchByNameFuzzy("jonathan smith", 2)).equals(List.of("CUST-F3", "CUST-F5")),
+                     "the limit keeps only the best matches");
+        checks.check(repository.searchByNameFuzzy("Grace Hopper", 10).isEmpty(), "dissimilar names are not returned");
+
+        repository.deleteById("CUST-F3");
+        checks.check(ids(repository.searchByNameFuzzy("jonathan smith", 1)).equals(List.of("CUST-F5")),
+                     "a deleted customer drops out of the ranking");
+    }
+
+    private static List<String> ids(List<Customer> customers) {
+        return customers.stream().map(Customer::getCustomerId).collect(Collectors.toList());
+    }
+
+    private static Customer customer(String customerId, String firstName, String lastName, String phone) {
+        return new RegularCustomer(customerId, firstName, lastName, customerId.toLowerCase() + "@email.com",
+                                   phone, "123 Main St, City, State 12345");
+    }
+}
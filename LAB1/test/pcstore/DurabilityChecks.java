@@ -0,0 +1,129 @@
+package pcstore;
+
+import pcstore.models.Order;
+import pcstore.repositories.DurableOrderRepository;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * DurabilityChecks (SRP: Only checks DurableOrderRepository recovery and compaction)
+ */
+final class DurabilityChecks {
+
+    static void run(Checks checks) {
+        checks.section("Write-ahead log replay after a torn tail", () -> replaysUpToTornTail(checks));
+        checks.section("Write-ahead log replay after a corrupt length", () -> replaysUpToCorruptLength(checks));
+        checks.section("Write-ahead log compaction", () -> compaction(checks));
+    }
+
+    private static void replaysUpToTornTail(Checks checks) throws IOException {
+        Path directory = Files.createTempDirectory("pcstore-wal");
+        try {
+            try (DurableOrderRepository repository = new DurableOrderRepository(directory)) {
+                for (int i = 1; i <= 3; i++) {
+                    repository.save(newOrder("ORD-WAL-" + i));
+                }
+                repository.updateStatus("ORD-WAL-1", Order.OrderStatus.CONFIRMED);
+            }
+
+            // A crash in the middle of the last append leaves part of its record behind
+            Path log = directory.resolve("orders.wal");
+            try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - 3);
+            }
+
+            try (DurableOrderRepository repository = new DurableOrderRepository(directory)) {
+                checks.check(repository.getTotalCount() == 3, "intact records are replayed (3 orders)");
+                checks.check(repository.findById("ORD-WAL-1").map(Order::getStatus).orElse(null) == Order.OrderStatus.PENDING,
+                             "the torn status change is dropped");
+                repository.save(newOrder("ORD-WAL-4"));
+            }
+
+            try (DurableOrderRepository repository = new DurableOrderRepository(directory)) {
+                checks.check(repository.getTotalCount() == 4, "a write after recovery survives the next restart");
+                checks.check(repository.existsById("ORD-WAL-4"), "records appended after the torn tail are readable");
+            }
+        } finally {
+            Checks.deleteRecursively(directory);
+        }
+    }
+
+    private static void replaysUpToCorruptLength(Checks checks) throws IOException {
+        Path directory = Files.createTempDirectory("pcstore-wal-length");
+        try {
+            try (DurableOrderRepository repository = new DurableOrderRepository(directory)) {
+                repository.save(newOrder("ORD-LEN-1"));
+                repository.save(newOrder("ORD-LEN-2"));
+            }
+
+            // A length near Integer.MAX_VALUE overflows 1 + length + trailer if added as an int
+            Path log = directory.resolve("orders.wal");
+            try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer garbage = ByteBuffer.allocate(16);
+                garbage.putInt(Integer.MAX_VALUE - 2).put(new byte[12]).flip();
+                channel.write(garbage);
+            }
+
+            try (DurableOrderRepository repository = new DurableOrderRepository(directory)) {
+                checks.check(repository.getTotalCount() == 2, "a corrupt length is treated as a torn tail (2 orders)");
+                repository.save(newOrder("ORD-LEN-3"));
+            }
+
+            try (DurableOrderRepository repository = new DurableOrderRepository(directory)) {
+                checks.check(repository.existsById("ORD-LEN-3"), "a write after the corrupt frame survives the next restart");
+            }
+        } finally {
+            Checks.deleteRecursively(directory);
+        }
+    }
+
+    private static void compaction(Checks checks) throws IOException {
+        Path directory = Files.createTempDirectory("pcstore-compaction");
+        try {
+            try (DurableOrderRepository repository = new DurableOrderRepository(directory)) {
+                for (int i = 0; i < 50; i++) {
+                    repository.save(newOrder("ORD-CMP-" + i));
+                }
+                for (int i = 0; i < 10; i++) {
+                    repository.deleteById("ORD-CMP-" + i);
+                }
+                repository.updateStatus("ORD-CMP-20", Order.OrderStatus.SHIPPED);
+
+                repository.compact();
+                checks.check(Files.size(directory.resolve("orders.wal")) == 0, "compaction clears the log");
+                checks.check(Files.exists(directory.resolve("orders.snapshot")), "compaction writes a snapshot");
+
+                repository.save(newOrder("ORD-CMP-50"));
+            }
+
+            try (DurableOrderRepository repository = new DurableOrderRepository(directory)) {
+                checks.check(repository.getTotalCount() == 41, "snapshot plus log restore every order (41)");
+                checks.check(!repository.existsById("ORD-CMP-0"), "deleted orders stay deleted");
+                checks.check(repository.findById("ORD-CMP-20").map(Order::getStatus).orElse(null) == Order.OrderStatus.SHIPPED,
+                             "status changes survive compaction");
+            }
+
+            // A small threshold compacts on its own while writes keep coming
+            Path small = directory.resolve("small");
+            try (DurableOrderRepository repository = new DurableOrderRepository(small, 4096)) {
+                for (int i = 0; i < 200; i++) {
+                    repository.save(newOrder("ORD-AUTO-" + i));
+                }
+                checks.check(Files.size(small.resolve("orders.wal")) < 64 * 1024, "the log is compacted past its threshold");
+            }
+            try (DurableOrderRepository repository = new DurableOrderRepository(small, 4096)) {
+                checks.check(repository.getTotalCount() == 200, "no order is lost across automatic compactions (200)");
+            }
+        } finally {
+            Checks.deleteRecursively(directory);
+        }
+    }
+
+    static Order newOrder(String orderId) {
+        return new Order(orderId, "CUST001", "123 Main St, City, State 12345");
+    }
+}
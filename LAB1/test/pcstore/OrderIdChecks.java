@@ -0,0 +1,76 @@
+package pcstore;
+
+import pcstore.services.OrderIdGenerator;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OrderIdChecks (SRP: Only checks that OrderIdGenerator ids stay unique and ordered)
+ */
+final class OrderIdChecks {
+
+    static void run(Checks checks) {
+        checks.section("Order ids when the clock goes backwards", () -> idsWithBackwardsClock(checks));
+    }
+
+    private static void idsWithBackwardsClock(Checks checks) throws InterruptedException {
+        AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+        OrderIdGenerator generator = new OrderIdGenerator(7, clock::get);
+
+        List<String> ids = new ArrayList<>();
+        ids.add(generator.nextId());
+        clock.addAndGet(-60_000); // NTP steps the clock back a minute
+        for (int i = 0; i < 10_000; i++) { // also more than the 4096 ids one millisecond holds
+            ids.add(generator.nextId());
+        }
+        clock.addAndGet(120_000);
+        ids.add(generator.nextId());
+        checks.check(isStrictlyIncreasing(ids), "ids keep increasing after the clock steps back");
+        checks.check(OrderIdGenerator.timestampOf(ids.get(ids.size() - 1)) == clock.get(),
+                     "ids follow the clock again once it passes the last id");
+
+        // Many threads while the clock keeps jumping back and forth
+        int threads = 8;
+        int perThread = 20_000;
+        Set<String> unique = Collections.synchronizedSet(new HashSet<>());
+        AtomicInteger outOfOrder = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                Checks.awaitQuietly(start);
+                String previous = "";
+                for (int i = 0; i < perThread; i++) {
+                    if (i % 1_000 == 0) {
+                        clock.addAndGet(i % 2_000 == 0 ? -5 : 3);
+                    }
+                    String id = generator.nextId();
+                    if (id.compareTo(previous) <= 0) {
+                        outOfOrder.incrementAndGet();
+                    }
+                    unique.add(id);
+                    previous = id;
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        checks.check(unique.size() == threads * perThread, "concurrent ids are unique (" + unique.size() + ")");
+        checks.check(outOfOrder.get() == 0, "each thread sees strictly increasing ids");
+    }
+
+    private static boolean isStrictlyIncreasing(List<String> ids) {
+        for (int i = 1; i < ids.size(); i++) {
+            if (ids.get(i).compareTo(ids.get(i - 1)) <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
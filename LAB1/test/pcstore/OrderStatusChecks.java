@@ -0,0 +1,80 @@
+package pcstore;
+
+import pcstore.models.Money;
+import pcstore.models.Order;
+import pcstore.repositories.DurableOrderRepository;
+import pcstore.repositories.OrderRepository;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * OrderStatusChecks (SRP: Only checks that status changes move the OrderRepository aggregates)
+ */
+final class OrderStatusChecks {
+
+    static void run(Checks checks) {
+        checks.section("Status changes move counts and revenue", () -> aggregates(checks));
+        checks.section("Order.updateStatus on a durable repository", () -> durable(checks));
+    }
+
+    private static void aggregates(Checks checks) {
+        OrderRepository repository = new OrderRepository();
+        Order order = pricedOrder("ORD-STATUS-1");
+        repository.save(order);
+        checks.check(repository.getCountByStatus(Order.OrderStatus.PENDING) == 1
+                         && repository.getTotalRevenueAmount().equals(Money.ofCents(5_000)),
+                     "a saved order is counted as pending with its revenue");
+
+        order.updateStatus(Order.OrderStatus.CANCELLED);
+        checks.check(repository.getCountByStatus(Order.OrderStatus.PENDING) == 0
+                         && repository.getCountByStatus(Order.OrderStatus.CANCELLED) == 1,
+                     "Order.updateStatus moves the status counts");
+        checks.check(repository.getTotalRevenueAmount().equals(Money.ofCents(0)), "cancelling removes the revenue");
+        checks.check(repository.findByStatus(Order.OrderStatus.CANCELLED).size() == 1,
+                     "findByStatus sees the new status");
+
+        checks.check(repository.updateStatus("ORD-STATUS-1", Order.OrderStatus.DELIVERED)
+                         && order.getStatus() == Order.OrderStatus.DELIVERED
+                         && repository.getTotalRevenueAmount().equals(Money.ofCents(5_000)),
+                     "OrderRepository.updateStatus changes the order and restores the revenue");
+
+        repository.archiveCompletedOrders();
+        Order archived = repository.findById("ORD-STATUS-1").orElseThrow();
+        archived.updateStatus(Order.OrderStatus.CANCELLED);
+        checks.check(repository.getCountByStatus(Order.OrderStatus.CANCELLED) == 1
+                         && repository.getArchivedCount() == 0,
+                     "an archived order's decoded copy routes its status change too");
+
+        Order replaced = repository.findById("ORD-STATUS-1").orElseThrow();
+        repository.save(pricedOrder("ORD-STATUS-1"));
+        replaced.updateStatus(Order.OrderStatus.SHIPPED);
+        checks.check(repository.getCountByStatus(Order.OrderStatus.SHIPPED) == 0
+                         && repository.getCountByStatus(Order.OrderStatus.PENDING) == 1,
+                     "an order object replaced by a later save no longer changes the repository");
+    }
+
+    private static void durable(Checks checks) throws Exception {
+        Path directory = Files.createTempDirectory("pcstore-status");
+        try {
+            try (DurableOrderRepository repository = new DurableOrderRepository(directory)) {
+                Order order = pricedOrder("ORD-STATUS-2");
+                repository.save(order);
+                order.updateStatus(Order.OrderStatus.SHIPPED);
+                checks.check(repository.getCountByStatus(Order.OrderStatus.SHIPPED) == 1, "the durable repository counts the change");
+            }
+            try (DurableOrderRepository repository = new DurableOrderRepository(directory)) {
+                checks.check(repository.findById("ORD-STATUS-2").map(Order::getStatus).orElse(null) == Order.OrderStatus.SHIPPED
+                                 && repository.getCountByStatus(Order.OrderStatus.SHIPPED) == 1,
+                             "the change is logged and survives a restart");
+            }
+        } finally {
+            Checks.deleteRecursively(directory);
+        }
+    }
+
+    private static Order pricedOrder(String orderId) {
+        Order order = DurabilityChecks.newOrder(orderId);
+        order.addItem(StockChecks.newMouse("ACC-STATUS", 10), 2);
+        return order;
+    }
+}
@@ -0,0 +1,45 @@
+package pcstore;
+
+import pcstore.logging.ConsoleLogSink;
+import pcstore.logging.LogLevel;
+import pcstore.logging.Logging;
+import pcstore.repositories.LogFailureChecks;
+
+/**
+ * PCStoreChecks (SRP: Only responsible for running every check suite)
+ * A plain driver, since the project has no test framework. Each suite prints one line per
+ * expectation; the exit status is 1 if any expectation failed.
+ *
+ * Build and run from LAB1:
+ *   javac -d bin $(find src/pcstore test/pcstore -name "*.java")
+ *   java -cp bin pcstore.PCStoreChecks
+ */
+public class PCStoreChecks {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("🧪 PC STORE CHECKS");
+        System.out.println("=".repeat(40));
+
+        // Only errors from the services; the checks report everything else
+        Logging.useSynchronous(new ConsoleLogSink(), LogLevel.ERROR);
+
+        Checks checks = new Checks();
+        DurabilityChecks.run(checks);
+        LogFailureChecks.run(checks);
+        OrderIdChecks.run(checks);
+        OrderStatusChecks.run(checks);
+        ArchiveChecks.run(checks);
+        StockChecks.run(checks);
+        ChangeFeedChecks.run(checks);
+        CatalogChecks.run(checks);
+        ColumnarChecks.run(checks);
+        PricingChecks.run(checks);
+        BulkImportChecks.run(checks);
+        CustomerSearchChecks.run(checks);
+        ShippingChecks.run(checks);
+
+        System.out.println("\n" + "=".repeat(40));
+        System.out.printf("Passed: %d, Failed: %d%n", checks.getPassed(), checks.getFailed());
+        System.exit(checks.getFailed() == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,193 @@
+package pcstore;
+
+import pcstore.models.Accessory;
+import pcstore.models.CorporateCustomer;
+import pcstore.models.Customer;
+import pcstore.models.Laptop;
+import pcstore.models.Money;
+import pcstore.models.Order;
+import pcstore.models.PremiumCustomer;
+import pcstore.models.Product;
+import pcstore.models.RegularCustomer;
+import pcstore.pricing.BulkPricingStrategy;
+import pcstore.pricing.PricingEvaluator;
+import pcstore.pricing.PricingStrategy;
+import pcstore.pricing.PromotionalPricingStrategy;
+import pcstore.pricing.RegularPricingStrategy;
+import pcstore.pricing.RuleBasedPricingStrategy;
+import pcstore.pricing.rules.PricingRule;
+import pcstore.repositories.DurableOrderRepository;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * PricingChecks (SRP: Only checks how order lines and pricing strategies turn prices into totals)
+ */
+final class PricingChecks {
+
+    static void run(Checks checks) {
+        checks.section("Sub-cent unit prices", () -> subCentPrices(checks));
+        checks.section("Single-pass strategy evaluation", () -> evaluation(checks));
+        checks.section("Compiled rules price like the hand-written strategies", () -> compiledRules(checks));
+        checks.section("Promotion windows", () -> promotionWindows(checks));
+    }
+
+    private static void subCentPrices(Checks checks) throws Exception {
+        Order order = DurabilityChecks.newOrder("ORD-SUBCENT");
+        order.addItem(new Accessory("ACC-CABLE", "Cable", "Anker", new BigDecimal("0.333"), 100,
+                                    "USB-C cable", "Cable", "Universal", "Black", false), 3);
+        order.addItem(StockChecks.newMouse("ACC-MOUSE", 10), 2);
+        Order.OrderItem cable = order.getItems().get(0);
+        checks.check(cable.getTotalPrice().equals(Money.ofCents(100)),
+                     "a sub-cent price is multiplied before rounding (3 x $0.333 = $1.00, not $0.99)");
+        checks.check(cable.getUnitPrice().equals(Money.ofCents(33)), "the unit price is shown rounded to cents");
+        checks.check(order.getSubtotal().equals(Money.ofCents(5_100)), "whole-cent lines are unchanged");
+
+        order.updateItemQuantity("ACC-CABLE", 7);
+        checks.check(order.getItems().get(0).getTotalPrice().equals(Money.ofCents(233)),
+                     "changing the quantity rounds the exact line again (7 x $0.333 = $2.33)");
+
+        Path directory = Files.createTempDirectory("pcstore-subcent");
+        try {
+            try (DurableOrderRepository repository = new DurableOrderRepository(directory)) {
+                repository.save(order);
+            }
+            try (DurableOrderRepository repository = new DurableOrderRepository(directory)) {
+                Order restored = repository.findById("ORD-SUBCENT").orElseThrow();
+                checks.check(restored.getTotal().equals(order.getTotal())
+                                 && restored.getItems().get(0).getExactUnitPrice().compareTo(new BigDecimal("0.333")) == 0,
+                             "the exact unit price survives a restart");
+            }
+        } finally {
+            Checks.deleteRecursively(directory);
+        }
+    }
+
+    private static void evaluation(Checks checks) {
+        List<PricingStrategy> strategies = List.of(new RegularPricingStrategy(), new BulkPricingStrategy(),
+                                                   new PromotionalPricingStrategy(15.0, "Holiday Special"));
+        PricingEvaluator evaluator = new PricingEvaluator(strategies);
+        List<PricingEvaluator.Line> small = List.of(new PricingEvaluator.Line(StockChecks.newMouse("ACC-EVAL", 10), 2),
+                                                    new PricingEvaluator.Line(null, 3));
+        List<PricingEvaluator.Line> large = List.of(new PricingEvaluator.Line(laptop(), 6),
+                                                    new PricingEvaluator.Line(StockChecks.newMouse("ACC-EVAL", 10), 1));
+
+        boolean cheapest = true;
+        for (Customer customer : customers()) {
+            for (List<PricingEvaluator.Line> lines : List.of(small, large)) {
+                PricingEvaluator.Result result = evaluator.evaluate(lines, customer);
+                long best = Long.MAX_VALUE;
+                PricingStrategy winner = null;
+                for (PricingStrategy strategy : strategies) {
+                    long total = 0;
+                    for (PricingEvaluator.Line line : lines) {
+                        if (line.getProduct() != null) {
+                            total += strategy.calculatePriceCents(line.getProduct(), customer, line.getQuantity());
+                        }
+                    }
+                    if (total < best) {
+                        best = total;
+                        winner = strategy;
+                    }
+                }
+                cheapest &= result.getBestStrategy() == winner && result.getBestTotal().equals(Money.ofCents(best));
+            }
+        }
+        checks.check(cheapest, "the winner and its total match pricing each strategy separately");
+
+        PricingEvaluator noPromotion = new PricingEvaluator(List.of(new RegularPricingStrategy(), new BulkPricingStrategy()));
+        checks.check(noPromotion.evaluate(small, customers().get(0)).getBestStrategy() == noPromotion.getStrategies().get(0),
+                     "a tie goes to the strategy registered first");
+        checks.check(noPromotion.evaluate(List.of(new PricingEvaluator.Line(null, 1)), customers().get(0))
+                         .getBestTotal().equals(Money.ZERO),
+                     "lines whose product is missing add nothing");
+    }
+
+    private static void compiledRules(Checks checks) {
+        List<Product> products = List.of(laptop(), StockChecks.newMouse("ACC-RULES", 10),
+                                         accessory("ACC-PENNY", "0.01"), accessory("ACC-ODD", "19.99"),
+                                         accessory("ACC-SUBCENT", "0.333"));
+        RegularPricingStrategy regular = new RegularPricingStrategy();
+        BulkPricingStrategy bulk = new BulkPricingStrategy();
+        boolean regularSame = true;
+        boolean bulkSame = true;
+        boolean promotionSame = true;
+        for (double percentage : new double[] {15.0, 20.0, 12.5}) {
+            PromotionalPricingStrategy promotion = new PromotionalPricingStrategy(percentage, "Sale");
+            int promotionBasisPoints = Money.basisPoints(percentage);
+            for (Customer customer : customers()) {
+                int customerBasisPoints = Money.basisPoints(customer.getDiscountPercentage());
+                for (Product product : products) {
+                    for (int quantity = 1; quantity <= 12; quantity++) {
+                        regularSame &= regular.calculatePriceCents(product, customer, quantity)
+                                       == handWritten(product, quantity, customerBasisPoints, 0);
+                        bulkSame &= bulk.calculatePriceCents(product, customer, quantity)
+                                    == handWritten(product, quantity, customerBasisPoints, quantity >= 5 ? 500 : 0);
+                        promotionSame &= promotion.calculatePriceCents(product, customer, quantity)
+                                         == handWritten(product, quantity, promotionBasisPoints, customerBasisPoints);
+                    }
+                }
+            }
+        }
+        checks.check(regularSame, "Regular: the customer discount only");
+        checks.check(bulkSame, "Bulk: the customer discount, then 5% from 5 units");
+        checks.check(promotionSame, "Promotional: the promotion, then the customer discount (15%, 20% and 12.5%)");
+    }
+
+    private static void promotionWindows(Checks checks) {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        long before = millis(start.minusHours(1));
+        long during = millis(start.plusHours(1));
+        long after = millis(start.plusDays(2));
+        Customer customer = customers().get(0);
+        Product mouse = StockChecks.newMouse("ACC-WINDOW", 10);
+        RuleBasedPricingStrategy strategy = new RuleBasedPricingStrategy("Windowed", "A one-day promotion",
+            List.of(PricingRule.promotion("New year", 20.0, start, start.plusDays(1))));
+
+        checks.check(strategy.calculatePriceCents(mouse, customer, 1, before) == 2_500,
+                     "before the window opens the full price applies");
+        checks.check(strategy.calculatePriceCents(mouse, customer, 1, during) == 2_000,
+                     "inside the window the promotion applies");
+        checks.check(strategy.calculatePriceCents(mouse, customer, 1, after) == 2_500,
+                     "after the window closes the full price applies again");
+
+        strategy.reload(List.of(PricingRule.forCategory("Accessories", "Accessory", 10.0)));
+        checks.check(strategy.calculatePriceCents(mouse, customer, 1) == 2_250
+                         && strategy.calculatePriceCents(mouse, customer, 1, after) == 2_250,
+                     "reloaded rules without a window apply at any time");
+    }
+
+    // The Regular, Bulk and Promotional strategies as they were written before the rules were compiled
+    private static long handWritten(Product product, int quantity, int firstBasisPoints, int secondBasisPoints) {
+        long unitCents = product.getBasePriceCents();
+        return unitCents != Product.SUB_CENT_PRICE
+            ? Money.discounted(unitCents, quantity, firstBasisPoints, secondBasisPoints)
+            : Money.discounted(product.getBasePrice(), quantity, firstBasisPoints, secondBasisPoints);
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static Accessory accessory(String productId, String price) {
+        return new Accessory(productId, "Cable", "Anker", new BigDecimal(price), 100,
+                             "USB-C cable", "Cable", "Universal", "Black", false);
+    }
+
+    private static List<Customer> customers() {
+        String address = "123 Main St, City, State 12345";
+        return List.of(new RegularCustomer("CUST-R", "Ada", "Doe", "ada@email.com", "(123) 456-7890", address),
+                       new PremiumCustomer("CUST-P", "Bob", "Doe", "bob@email.com", "(123) 456-7890", address, 100),
+                       new CorporateCustomer("CUST-C", "Cy", "Doe", "cy@email.com", "(123) 456-7890", address,
+                                             "Acme", "TAX-1", 50_000));
+    }
+
+    private static Laptop laptop() {
+        return new Laptop("LAP-EVAL", "Laptop", "Dell", new BigDecimal("999.99"), 20, "Laptop",
+                          "Intel i7", 16, 512, "15 inch", "Windows");
+    }
+}
@@ -0,0 +1,97 @@
+package pcstore;
+
+import pcstore.models.CorporateCustomer;
+import pcstore.models.Customer;
+import pcstore.models.PremiumCustomer;
+import pcstore.models.RegularCustomer;
+import pcstore.shipping.ExpressShipping;
+import pcstore.shipping.OvernightShipping;
+import pcstore.shipping.ShippingCalculator;
+import pcstore.shipping.ShippingQuote;
+import pcstore.shipping.ShippingQuoteEngine;
+import pcstore.shipping.StandardShipping;
+import java.util.List;
+
+/**
+ * ShippingChecks (SRP: Only checks ShippingQuoteEngine quotes against the shipping calculators)
+ */
+final class ShippingChecks {
+    private static final String ADDRESS = "123 Main St, City, State 12345";
+
+    static void run(Checks checks) {
+        checks.section("Shipping quotes at the half-kg band edges", () -> bandEdges(checks));
+        checks.section("Shipping quotes at the free-shipping thresholds", () -> thresholds(checks));
+    }
+
+    private static void bandEdges(Checks checks) {
+        ShippingQuoteEngine engine = engine();
+        Customer regular = new RegularCustomer("CUST-S1", "Ada", "Doe", "ada@email.com", "(123) 456-7890", ADDRESS);
+
+        checks.check(standardCost(engine, regular, 0.0) == 1_250 && standardCost(engine, regular, 0.01) == 1_250,
+                     "a parcel under half a kg is billed as 0.5 kg ($12.50)");
+        checks.check(standardCost(engine, regular, 0.5) == 1_250, "exactly 0.5 kg stays in the first band");
+        checks.check(standardCost(engine, regular, 0.5000001) == 1_500, "just over 0.5 kg is billed as 1 kg ($15.00)");
+        checks.check(standardCost(engine, regular, 29.5) == 15_750 && standardCost(engine, regular, 30.0) == 16_000,
+                     "the last bands are billed at their upper limits");
+        checks.check(standardCost(engine, regular, 30.01) == 16_005, "above the last band the exact weight is charged");
+
+        boolean matches = true;
+        for (Customer customer : customers()) {
+            for (int halfKilograms = 1; halfKilograms <= 60; halfKilograms++) {
+                double limit = halfKilograms * 0.5;
+                for (long total : new long[] {0, 4_999, 5_000, 9_999, 10_000, 99_999, 100_000}) {
+                    ShippingQuote quote = engine.quote(customer, total, limit);
+                    for (ShippingQuote.Option option : quote.getOptions()) {
+                        matches &= option.getCostCents() == option.getCalculator().calculateShippingCents(customer, total, limit);
+                    }
+                }
+            }
+        }
+        checks.check(matches, "at every band limit the quote equals the calculators' own price");
+    }
+
+    private static void thresholds(Checks checks) {
+        ShippingQuoteEngine engine = engine();
+        List<Customer> customers = customers();
+        Customer regular = customers.get(0);
+        Customer premium = customers.get(1);
+        Customer corporate = customers.get(2);
+        Customer guest = customers.get(3);
+
+        checks.check(engine.quote(regular, 9_999, 1.0).getPreferred().getCostCents() == 1_500
+                         && engine.quote(regular, 10_000, 1.0).getPreferred().getCostCents() == 0,
+                     "regular customers ship free from $100.00");
+        checks.check(engine.quote(premium, 4_999, 1.0).getPreferred().getCostCents() == 1_500
+                         && engine.quote(premium, 5_000, 1.0).getPreferred().getCostCents() == 0,
+                     "premium customers ship free from $50.00");
+        checks.check(engine.quote(premium, 4_999, 1.0).getOptions().get(1).getCostCents() == 2_960,
+                     "premium express shipping is 20% off ($37.00 less 20%)");
+        checks.check(engine.quote(corporate, 99_999, 2.0).getOptions().get(2).getCostCents() == 5_000
+                         && engine.quote(corporate, 100_000, 2.0).getOptions().get(2).getCostCents() == 0,
+                     "corporate overnight shipping is free from $1,000.00");
+        checks.check(guest.getFreeShippingMinimumCents() == Long.MAX_VALUE
+                         && engine.quote(guest, Long.MAX_VALUE / 2, 1.0).getPreferred().getCostCents() == 1_500,
+                     "a customer class without a threshold never ships free");
+    }
+
+    private static long standardCost(ShippingQuoteEngine engine, Customer customer, double weightKg) {
+        return engine.quote(customer, 0, weightKg).getPreferred().getCostCents();
+    }
+
+    private static ShippingQuoteEngine engine() {
+        List<ShippingCalculator> options = List.of(new StandardShipping(), new ExpressShipping(), new OvernightShipping());
+        return new ShippingQuoteEngine(options);
+    }
+
+    private static List<Customer> customers() {
+        return List.of(new RegularCustomer("CUST-S1", "Ada", "Doe", "ada@email.com", "(123) 456-7890", ADDRESS),
+                       new PremiumCustomer("CUST-S2", "Bob", "Doe", "bob@email.com", "(123) 456-7890", ADDRESS, 100),
+                       new CorporateCustomer("CUST-S3", "Cy", "Doe", "cy@email.com", "(123) 456-7890", ADDRESS,
+                                             "Acme", "TAX-1", 50_000),
+                       new Customer("CUST-S4", "Dee", "Doe", "dee@email.com", "(123) 456-7890", ADDRESS) {
+                           @Override public double getDiscountPercentage() { return 0; }
+                           @Override public String getCustomerType() { return "Guest"; }
+                           @Override public boolean isEligibleForFreeShipping(double orderTotal) { return false; }
+                       });
+    }
+}
@@ -0,0 +1,166 @@
+package pcstore;
+
+import pcstore.models.Accessory;
+import pcstore.models.Order;
+import pcstore.models.Product;
+import pcstore.models.RegularCustomer;
+import pcstore.repositories.ConcurrentCustomerRepository;
+import pcstore.repositories.ConcurrentOrderRepository;
+import pcstore.repositories.ConcurrentProductRepository;
+import pcstore.services.CustomerService;
+import pcstore.services.InventoryService;
+import pcstore.services.OrderService;
+import pcstore.services.ProductService;
+import pcstore.validators.CustomerValidator;
+import pcstore.validators.ProductValidator;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * StockChecks (SRP: Only checks stock taking and the holds InventoryService keeps for orders)
+ */
+final class StockChecks {
+
+    static void run(Checks checks) {
+        checks.section("Concurrent tryTakeStock", () -> concurrentTryTakeStock(checks));
+        checks.section("Stock holds of pending orders", () -> holds(checks));
+        checks.section("Expired holds are swept", () -> expirySweep(checks));
+    }
+
+    private static void concurrentTryTakeStock(Checks checks) throws InterruptedException {
+        int initialStock = 10_000;
+        Product product = newMouse("ACC-STOCK", initialStock);
+        int threads = 16;
+        AtomicInteger taken = new AtomicInteger();
+        AtomicInteger lowestSeen = new AtomicInteger(initialStock);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int quantity = 1 + t % 3;
+            Thread worker = new Thread(() -> {
+                Checks.awaitQuietly(start);
+                while (product.tryTakeStock(quantity)) {
+                    taken.addAndGet(quantity);
+                    lowestSeen.accumulateAndGet(product.getStockQuantity(), Math::min);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        checks.check(taken.get() + product.getStockQuantity() == initialStock,
+                     "units taken plus units left equal the initial stock (" + taken.get() + " + " + product.getStockQuantity() + ")");
+        checks.check(product.getStockQuantity() >= 0 && lowestSeen.get() >= 0, "stock never goes negative");
+        checks.check(product.getStockQuantity() < 3, "stock is drained down to less than the largest request");
+    }
+
+    private static void holds(Checks checks) throws InterruptedException {
+        Store store = new Store(Duration.ofMinutes(30));
+        store.products.addProduct(newMouse("ACC-HOLD", 100));
+
+        // 40 carts race for 100 units, 3 at a time: exactly 33 get their hold
+        int carts = 40;
+        List<String> orderIds = new ArrayList<>();
+        for (int i = 0; i < carts; i++) {
+            orderIds.add(store.orders.createOrder("CUST001", "123 Main St, City, State 12345").get());
+        }
+        AtomicInteger held = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (String orderId : orderIds) {
+            Thread worker = new Thread(() -> {
+                Checks.awaitQuietly(start);
+                if (store.orders.addItemToOrder(orderId, "ACC-HOLD", 3)) {
+                    held.incrementAndGet();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        checks.check(held.get() == 33, "holds never oversell the stock (" + held.get() + " of " + carts + " carts)");
+        checks.check(stockOf(store, "ACC-HOLD") == 1, "held units leave the stock at once");
+
+        String cancelled = heldOrder(store, orderIds, 0);
+        store.orders.updateOrderStatus(cancelled, Order.OrderStatus.CANCELLED);
+        checks.check(stockOf(store, "ACC-HOLD") == 4, "cancelling an order returns its hold");
+        checks.check(!store.orders.addItemToOrder(cancelled, "ACC-HOLD", 1), "a cancelled order cannot take stock again");
+
+        String deleted = heldOrder(store, orderIds, 1);
+        store.orders.deleteOrder(deleted);
+        checks.check(stockOf(store, "ACC-HOLD") == 7, "deleting an order returns its hold");
+
+        String confirmed = heldOrder(store, orderIds, 2);
+        checks.check(store.orders.processOrder(confirmed) && stockOf(store, "ACC-HOLD") == 7,
+                     "confirming an order keeps its held stock sold");
+        store.orders.updateOrderStatus(confirmed, Order.OrderStatus.CANCELLED);
+        checks.check(store.inventory.getReservedQuantity(confirmed, "ACC-HOLD") == 0, "a confirmed order keeps no hold");
+    }
+
+    private static void expirySweep(Checks checks) throws InterruptedException {
+        Store store = new Store(Duration.ofMillis(200));
+        try {
+            store.products.addProduct(newMouse("ACC-SWEEP", 2));
+            String abandoned = store.orders.createOrder("CUST001", "123 Main St, City, State 12345").get();
+            store.orders.addItemToOrder(abandoned, "ACC-SWEEP", 2);
+            checks.check(store.products.getAvailableProducts().isEmpty(), "a held product is out of stock");
+
+            // No other checkout runs: only the background sweep can return the stock
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (stockOf(store, "ACC-SWEEP") == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            checks.check(stockOf(store, "ACC-SWEEP") == 2 && store.inventory.getReservedQuantity(abandoned, "ACC-SWEEP") == 0,
+                         "an abandoned hold is returned after it expires");
+            checks.check(CatalogChecks.ids(store.products.getAvailableProducts()).equals(List.of("ACC-SWEEP")),
+                         "the product is listed in stock again");
+        } finally {
+            store.inventory.close();
+        }
+    }
+
+    private static String heldOrder(Store store, List<String> orderIds, int skip) {
+        return orderIds.stream()
+                       .filter(orderId -> store.inventory.getReservedQuantity(orderId, "ACC-HOLD") > 0)
+                       .skip(skip)
+                       .findFirst()
+                       .orElseThrow();
+    }
+
+    static int stockOf(Store store, String productId) {
+        return store.products.getProduct(productId).map(Product::getStockQuantity).orElse(-1);
+    }
+
+    static Product newMouse(String productId, int stock) {
+        return new Accessory(productId, "Mouse", "Logitech", new BigDecimal("25.00"), stock,
+                             "Wireless mouse", "Mouse", "Universal", "Black", true);
+    }
+
+    /**
+     * Concurrent services wired the way a multi-threaded store would be, with one registered customer
+     */
+    static final class Store {
+        final ProductService products;
+        final InventoryService inventory;
+        final OrderService orders;
+
+        Store(Duration holdTime) {
+            products = new ProductService(new ConcurrentProductRepository(), new ProductValidator());
+            CustomerService customers = new CustomerService(new ConcurrentCustomerRepository(), new CustomerValidator());
+            customers.registerCustomer(new RegularCustomer("CUST001", "John", "Doe", "john.doe@email.com",
+                                                           "1234567890", "123 Main St, City, State 12345"));
+            inventory = new InventoryService(products, holdTime);
+            orders = new OrderService(new ConcurrentOrderRepository(), products, customers, inventory);
+        }
+    }
+}
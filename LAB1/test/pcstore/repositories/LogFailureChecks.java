@@ -0,0 +1,73 @@
+package pcstore.repositories;
+
+import pcstore.Checks;
+import pcstore.models.Order;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * LogFailureChecks (SRP: Only checks what DurableOrderRepository does when its log cannot be written)
+ * Lives in the repositories package to inject a failing sync into the write-ahead log.
+ */
+public final class LogFailureChecks {
+
+    public static void run(Checks checks) {
+        checks.section("Write-ahead log sync failure", () -> failedSyncLeavesNoVisibleChange(checks));
+    }
+
+    private static void failedSyncLeavesNoVisibleChange(Checks checks) throws IOException {
+        Path directory = Files.createTempDirectory("pcstore-sync-failure");
+        AtomicBoolean diskFails = new AtomicBoolean();
+        WriteAheadLog.Sync failingSync = channel -> {
+            if (diskFails.get()) {
+                throw new IOException("simulated fsync failure");
+            }
+            channel.force(false);
+        };
+        try {
+            try (DurableOrderRepository repository = new DurableOrderRepository(directory, Long.MAX_VALUE, failingSync)) {
+                repository.save(newOrder("ORD-SYNC-1"));
+
+                diskFails.set(true);
+                checks.check(throwsUncheckedIO(() -> repository.save(newOrder("ORD-SYNC-2"))),
+                             "a save whose sync fails throws");
+                checks.check(!repository.existsById("ORD-SYNC-2") && repository.getTotalCount() == 1,
+                             "the failed save is not visible");
+                checks.check(repository.findByStatus(Order.OrderStatus.PENDING).size() == 1,
+                             "status queries do not see the failed save");
+
+                diskFails.set(false);
+                checks.check(throwsUncheckedIO(() -> repository.updateStatus("ORD-SYNC-1", Order.OrderStatus.CONFIRMED)),
+                             "later writes are refused once the log has failed");
+                checks.check(repository.findById("ORD-SYNC-1").map(Order::getStatus).orElse(null) == Order.OrderStatus.PENDING,
+                             "the refused status change is not visible");
+                checks.check(repository.existsById("ORD-SYNC-1"), "reads keep working after the failure");
+            }
+
+            try (DurableOrderRepository repository = new DurableOrderRepository(directory)) {
+                checks.check(repository.findById("ORD-SYNC-1").map(Order::getStatus).orElse(null) == Order.OrderStatus.PENDING,
+                             "reopening recovers every durable write");
+                repository.save(newOrder("ORD-SYNC-3"));
+                checks.check(repository.existsById("ORD-SYNC-3"), "the reopened repository accepts writes again");
+            }
+        } finally {
+            Checks.deleteRecursively(directory);
+        }
+    }
+
+    private static boolean throwsUncheckedIO(Runnable write) {
+        try {
+            write.run();
+            return false;
+        } catch (UncheckedIOException e) {
+            return true;
+        }
+    }
+
+    private static Order newOrder(String orderId) {
+        return new Order(orderId, "CUST001", "123 Main St, City, State 12345");
+    }
+}